@@ -0,0 +1,46 @@
+package study.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import study.entity.Member;
+import study.repository.MemberJpaRepository;
+
+import java.util.List;
+
+/**
+ * MemberJpaRepository(순수 JPA) 주요 경로
+ *
+ * ./gradlew jmh -PjmhIncludes=MemberJpaRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+public class MemberJpaRepositoryBenchmark {
+    private MemberJpaRepository memberJpaRepository;
+
+    @Setup
+    public void setUp(RepositoryState state) {
+        memberJpaRepository = state.bean(MemberJpaRepository.class);
+    }
+
+    @Benchmark
+    public List<Member> findAll(RepositoryState state) {
+        return state.read(() -> memberJpaRepository.findAll());
+    }
+
+    @Benchmark
+    public List<Member> findByUsername(RepositoryState state) {
+        return state.read(() -> memberJpaRepository.findByUsername("member10"));
+    }
+
+    @Benchmark
+    public long pageWithTotalCount(RepositoryState state) {
+        return state.read(() -> memberJpaRepository.findByPage(10, 0, 20).size()
+                + memberJpaRepository.totalCount(10));
+    }
+
+    @Benchmark
+    public int bulkAgePlus(RepositoryState state) {
+        return state.writeAndRollback(() -> memberJpaRepository.bulkAgePlus(50));
+    }
+}
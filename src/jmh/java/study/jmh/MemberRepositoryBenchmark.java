@@ -0,0 +1,159 @@
+package study.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import study.dto.MemberDTO;
+import study.entity.Member;
+import study.repository.MemberRepository;
+import study.repository.projection.NestedClosedProjection;
+import study.repository.projection.UsernameOnly;
+import study.repository.projection.UsernameOnlyDTO;
+import study.repository.specification.MemberSpec;
+
+import java.util.List;
+
+/**
+ * MemberRepository(Spring Data JPA) 주요 경로
+ *
+ * ./gradlew jmh -PjmhIncludes=MemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+public class MemberRepositoryBenchmark {
+    private MemberRepository memberRepository;
+
+    @Setup
+    public void setUp(RepositoryState state) {
+        memberRepository = state.bean(MemberRepository.class);
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery(RepositoryState state) {
+        return state.read(() -> memberRepository.findByUsernameAndAgeGreaterThan("member10", 5));
+    }
+
+    @Benchmark
+    public List<Member> namedQuery(RepositoryState state) {
+        return state.read(() -> memberRepository.findByUsername("member10"));
+    }
+
+    @Benchmark
+    public List<Member> jpqlQuery(RepositoryState state) {
+        return state.read(() -> memberRepository.findMember("member10", 10));
+    }
+
+    @Benchmark
+    public List<MemberDTO> dtoQuery(RepositoryState state) {
+        return state.read(() -> memberRepository.findMemberDto());
+    }
+
+    /**
+     * 팀 이름까지 접근해야 N+1 여부가 측정에 반영된다.
+     */
+    @Benchmark
+    public void fetchJoin(RepositoryState state, Blackhole blackhole) {
+        state.read(() -> {
+            memberRepository.findMemberFetchJoin().forEach(member -> blackhole.consume(member.getTeam().getName()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void entityGraph(RepositoryState state, Blackhole blackhole) {
+        state.read(() -> {
+            memberRepository.findMemberEntityGraph().forEach(member -> blackhole.consume(member.getTeam().getName()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void openProjection(RepositoryState state, Blackhole blackhole) {
+        state.read(() -> {
+            memberRepository.findProjectionsByUsername("member10", UsernameOnly.class)
+                    .forEach(projection -> blackhole.consume(projection.getUsername()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void nestedClosedProjection(RepositoryState state, Blackhole blackhole) {
+        state.read(() -> {
+            memberRepository.findProjectionsByUsername("member10", NestedClosedProjection.class)
+                    .forEach(projection -> blackhole.consume(projection.getTeam().getName()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void nestedClosedProjectionCompiled(RepositoryState state, Blackhole blackhole) {
+        state.read(() -> {
+            memberRepository.findProjectedByUsername("member10", NestedClosedProjection.class)
+                    .forEach(projection -> blackhole.consume(projection.getTeam().getName()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDTO> dtoProjection(RepositoryState state) {
+        return state.read(() -> memberRepository.findProjectionsByUsername("member10", UsernameOnlyDTO.class));
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDTO> dtoProjectionCompiled(RepositoryState state) {
+        return state.read(() -> memberRepository.findProjectedByUsername("member10", UsernameOnlyDTO.class));
+    }
+
+    /**
+     * 엔티티 슬라이스 적재 후 MemberDTO 로 변환 (팀은 배치 페치로 추가 조회) vs MemberDTO 생성자 표현식으로 바로 조회
+     */
+    @Benchmark
+    public List<MemberDTO> entitySliceToDto(RepositoryState state) {
+        return state.read(() -> memberRepository.findSliceBy(PageRequest.of(5, 100, Sort.by("id")))
+                .map(MemberDTO::new)
+                .getContent());
+    }
+
+    @Benchmark
+    public Slice<MemberDTO> dtoSliceCompiled(RepositoryState state) {
+        return state.read(() -> memberRepository.findProjectedSliceBy(PageRequest.of(5, 100, Sort.by("id")), MemberDTO.class));
+    }
+
+    /**
+     * 같은 구조의 조건을 Criteria 로 매번 새로 만드는 경우와 shape 별 JPQL 캐시를 쓰는 경우
+     */
+    @Benchmark
+    public List<Member> composedSpecification(RepositoryState state) {
+        return state.read(() -> memberRepository.findAll(
+                MemberSpec.username("member10").and(MemberSpec.teamName("team1"))));
+    }
+
+    @Benchmark
+    public List<Member> composedSpecificationCompiled(RepositoryState state) {
+        return state.read(() -> memberRepository.findAllCompiled(
+                MemberSpec.username("member10").and(MemberSpec.teamName("team1"))));
+    }
+
+    @Benchmark
+    public Page<Member> firstPage(RepositoryState state) {
+        return state.read(() -> memberRepository.findPageByAge(10,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "username"))));
+    }
+
+    @Benchmark
+    public Page<Member> lastPage(RepositoryState state) {
+        int lastPage = Math.max(state.members / 100 / 20 - 1, 0);
+        return state.read(() -> memberRepository.findPageByAge(10,
+                PageRequest.of(lastPage, 20, Sort.by(Sort.Direction.DESC, "username"))));
+    }
+
+    @Benchmark
+    public int bulkAgePlus(RepositoryState state) {
+        return state.writeAndRollback(() -> memberRepository.bulkAgePlus(50));
+    }
+}
@@ -0,0 +1,103 @@
+package study.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.SpringDataJpaApplication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 벤치마크 공용 상태
+ * 데이터 규모(members)마다 내장 H2 로 애플리케이션 컨텍스트를 띄우고 시드 데이터를 넣는다.
+ */
+@State(Scope.Benchmark)
+public class RepositoryState {
+    private static final int TEAM_COUNT = 100;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int members;
+
+    public ConfigurableApplicationContext context;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate rollback;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("jmh")
+                .run();
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        rollback = new TransactionTemplate(transactionManager);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션, 끝나면 영속성 컨텍스트가 닫혀 반복 간 1차 캐시가 재사용되지 않는다.
+     */
+    public <T> T read(Supplier<T> action) {
+        return readOnly.execute(status -> action.get());
+    }
+
+    /**
+     * 변경 작업을 실행한 뒤 롤백하여 반복마다 같은 데이터로 측정한다.
+     */
+    public <T> T writeAndRollback(Supplier<T> action) {
+        return rollback.execute(status -> {
+            T result = action.get();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> teams = new ArrayList<>();
+        for (long id = 1; id <= TEAM_COUNT; id++) {
+            teams.add(new Object[]{id, "team" + id, now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name, created_date, updated_date, version) values (?, ?, ?, ?, 0)", teams);
+
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= members; id++) {
+            batch.add(new Object[]{id, "member" + id, (int) (id % 100), (id % TEAM_COUNT) + 1, now, now});
+
+            if (batch.size() == SEED_BATCH_SIZE || id == members) {
+                jdbcTemplate.batchUpdate("insert into member " +
+                        "(member_id, username, age, team_id, created_date, last_modified_date, version) " +
+                        "values (?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package study.auditing;
+
+import java.time.LocalDateTime;
+
+/**
+ * AuditingListener 가 리플렉션 없이 감사 필드를 채울 수 있도록 엔티티가 구현한다.
+ * 애플리케이션 코드에서 직접 호출하지 않는다.
+ */
+public interface AuditTarget {
+    /**
+     * false 면 auditor 를 조회하지 않는다.
+     */
+    boolean needsAuditor();
+
+    /**
+     * 생성 시 수정 시각 / 수정자도 함께 채운다. (Spring Data modifyOnCreate 와 동일)
+     */
+    void markCreated(LocalDateTime now, String auditor);
+
+    void markModified(LocalDateTime now, String auditor);
+}
@@ -0,0 +1,57 @@
+package study.auditing;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 감사 시각
+ * 트랜잭션 안에서는 한 번 읽은 시각을 다음 flush 가 끝날 때까지 재사용하여,
+ * 같은 flush 로 저장 / 변경되는 엔티티는 모두 같은 시각을 갖는다.
+ *
+ * 엔티티 콜백(JpaBaseEntity)에서도 쓰기 위해 정적 메서드로 제공한다.
+ */
+public final class AuditingClock {
+    private AuditingClock() {
+    }
+
+    public static LocalDateTime now() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return LocalDateTime.now();
+        }
+
+        Tick tick = (Tick) TransactionSynchronizationManager.getResource(Tick.class);
+        if (tick == null) {
+            tick = new Tick();
+            TransactionSynchronizationManager.bindResource(Tick.class, tick);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(Tick.class);
+                }
+            });
+        }
+
+        if (tick.now == null) {
+            tick.now = LocalDateTime.now();
+        }
+        return tick.now;
+    }
+
+    /**
+     * flush 가 끝나면 다음 호출에서 시각을 다시 읽는다.
+     *
+     * @see AuditingFlushListener
+     */
+    public static void advance() {
+        Tick tick = (Tick) TransactionSynchronizationManager.getResource(Tick.class);
+        if (tick != null) {
+            tick.now = null;
+        }
+    }
+
+    private static final class Tick {
+        private LocalDateTime now;
+    }
+}
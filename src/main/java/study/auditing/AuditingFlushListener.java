@@ -0,0 +1,13 @@
+package study.auditing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 세션마다 생성되는 Hibernate 이벤트 리스너 (hibernate.session.events.auto)
+ */
+public class AuditingFlushListener implements SessionEventListener {
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        AuditingClock.advance();
+    }
+}
@@ -0,0 +1,47 @@
+package study.auditing;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * AuditingEntityListener 대신 BaseTimeEntity / BaseEntity 에 등록하는 리스너
+ *
+ * CACHED 모드에서는 AuditTarget 메서드로 값을 직접 넣어 애노테이션 메타데이터 조회 / PropertyAccessor 를 거치지 않는다.
+ * REFLECTIVE 모드이거나 AuditTarget 이 아닌 엔티티는 Spring Data AuditingHandler 로 처리한다.
+ *
+ * AuditingHandler 는 EntityManagerFactory 의 메타모델이 필요하므로 사용 시점에 가져온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditingListener {
+    private final AuditingProperties properties;
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (properties.getMode() == AuditingMode.CACHED && target instanceof AuditTarget audited) {
+            audited.markCreated(AuditingClock.now(), auditor(audited));
+        } else {
+            auditingHandler.getObject().markCreated(target);
+        }
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        if (properties.getMode() == AuditingMode.CACHED && target instanceof AuditTarget audited) {
+            audited.markModified(AuditingClock.now(), auditor(audited));
+        } else {
+            auditingHandler.getObject().markModified(target);
+        }
+    }
+
+    private String auditor(AuditTarget target) {
+        return target.needsAuditor() ? auditorAware.getObject().getCurrentAuditor().orElse(null) : null;
+    }
+}
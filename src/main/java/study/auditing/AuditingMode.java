@@ -0,0 +1,12 @@
+package study.auditing;
+
+public enum AuditingMode {
+    /**
+     * Spring Data AuditingHandler (애노테이션 필드를 PropertyAccessor 로 설정), 저장마다 현재 시각 / auditor 조회
+     */
+    REFLECTIVE,
+    /**
+     * AuditTarget 메서드로 직접 설정, auditor 는 요청 / 트랜잭션마다 한 번, 시각은 flush 마다 한 번 조회
+     */
+    CACHED
+}
@@ -0,0 +1,19 @@
+package study.auditing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "study.auditing")
+@Getter
+@Setter
+public class AuditingProperties {
+    private AuditingMode mode = AuditingMode.CACHED;
+
+    /**
+     * 벌크 UPDATE(BulkAudit, ChunkedBulkUpdater)에 수정 시각 / 수정자 컬럼을 함께 설정한다.
+     */
+    private boolean bulkRewrite = true;
+}
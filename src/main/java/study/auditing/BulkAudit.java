@@ -0,0 +1,37 @@
+package study.auditing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPQL 벌크 UPDATE 는 엔티티 콜백을 거치지 않아 @LastModifiedDate / @LastModifiedBy 가 갱신되지 않는다.
+ * {@code @Query} 의 SpEL 파라미터로 감사 값을 바인딩하여, 쿼리 문자열은 auditor / 시각과 무관하게 하나로 유지한다.
+ *
+ * <pre>
+ * update Member m set m.age = m.age + 1,
+ *     m.lastModifiedDate = coalesce(:#{@bulkAudit.date()}, m.lastModifiedDate),
+ *     m.lastModifiedBy = coalesce(:#{@bulkAudit.by()}, m.lastModifiedBy)
+ * where m.age >= :age
+ * </pre>
+ *
+ * 시각은 엔티티 감사와 같은 AuditingClock, auditor 는 요청 / 트랜잭션 단위로 캐시된 AuditorAware 를 사용한다.
+ * study.auditing.bulk-rewrite 가 꺼져 있으면 null 을 반환하여 기존 값을 유지한다.
+ */
+@Component("bulkAudit")
+@RequiredArgsConstructor
+public class BulkAudit {
+    private final AuditingProperties properties;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+
+    public LocalDateTime date() {
+        return properties.isBulkRewrite() ? AuditingClock.now() : null;
+    }
+
+    public String by() {
+        return properties.isBulkRewrite() ? auditorAware.getObject().getCurrentAuditor().orElse(null) : null;
+    }
+}
@@ -0,0 +1,53 @@
+package study.auditing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * auditor 를 HTTP 요청 또는 트랜잭션마다 한 번만 조회한다.
+ * 요청 안이면 요청 속성에, 요청 밖의 트랜잭션이면 트랜잭션 리소스에 보관하고, 둘 다 없으면 매번 조회한다.
+ */
+@RequiredArgsConstructor
+public class CachingAuditorAware implements AuditorAware<String> {
+    private static final String ATTRIBUTE = CachingAuditorAware.class.getName();
+
+    private final AuditorAware<String> delegate;
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            @SuppressWarnings("unchecked")
+            Optional<String> auditor = (Optional<String>) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (auditor == null) {
+                auditor = delegate.getCurrentAuditor();
+                request.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+            }
+            return auditor;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return delegate.getCurrentAuditor();
+        }
+
+        @SuppressWarnings("unchecked")
+        Optional<String> auditor = (Optional<String>) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = delegate.getCurrentAuditor();
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CachingAuditorAware.this);
+                }
+            });
+        }
+        return auditor;
+    }
+}
@@ -0,0 +1,41 @@
+package study.auditing;
+
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔티티의 @LastModifiedDate / @LastModifiedBy 속성 이름, 없으면 null
+ * 벌크 UPDATE 에 감사 컬럼을 추가할 때 사용한다.
+ */
+public record LastModifiedAttributes(String date, String by) {
+    private static final Map<Class<?>, LastModifiedAttributes> CACHE = new ConcurrentHashMap<>();
+
+    public static LastModifiedAttributes of(Class<?> entityType) {
+        return CACHE.computeIfAbsent(entityType, LastModifiedAttributes::resolve);
+    }
+
+    public boolean isEmpty() {
+        return date == null && by == null;
+    }
+
+    private static LastModifiedAttributes resolve(Class<?> entityType) {
+        String date = null;
+        String by = null;
+
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (date == null && field.isAnnotationPresent(LastModifiedDate.class)) {
+                    date = field.getName();
+                }
+                if (by == null && field.isAnnotationPresent(LastModifiedBy.class)) {
+                    by = field.getName();
+                }
+            }
+        }
+        return new LastModifiedAttributes(date, by);
+    }
+}
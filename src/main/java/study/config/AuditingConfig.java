@@ -0,0 +1,62 @@
+package study.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import study.auditing.AuditingClock;
+import study.auditing.AuditingFlushListener;
+import study.auditing.AuditingMode;
+import study.auditing.AuditingProperties;
+import study.auditing.CachingAuditorAware;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * study.auditing.mode
+ * - reflective: 저장마다 UUID.randomUUID()(SecureRandom) / LocalDateTime.now()
+ * - cached: auditor 는 요청 / 트랜잭션마다 한 번, 시각은 flush 마다 한 번
+ *
+ * AuditingClock 은 두 모드 모두에서 사용하므로(JpaBaseEntity, 벌크 UPDATE, Item upsert) flush 리스너는 항상 등록한다.
+ */
+@Configuration
+public class AuditingConfig {
+    @Bean
+    public AuditorAware<String> auditorProvider(AuditingProperties properties) {
+        if (properties.getMode() == AuditingMode.REFLECTIVE) {
+            return () -> Optional.of(UUID.randomUUID().toString());
+        }
+        return new CachingAuditorAware(() -> Optional.of(randomUuid().toString()));
+    }
+
+    /**
+     * AuditingEntityListener 를 그대로 쓰는 엔티티(Item)도 같은 시각을 사용한다.
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider(AuditingProperties properties) {
+        if (properties.getMode() == AuditingMode.REFLECTIVE) {
+            return CurrentDateTimeProvider.INSTANCE;
+        }
+        return () -> Optional.of(AuditingClock.now());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer auditingFlushListenerCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, AuditingFlushListener.class.getName());
+    }
+
+    /**
+     * 보안 용도가 아닌 식별자이므로 SecureRandom 대신 ThreadLocalRandom 으로 만든 version 4 UUID
+     */
+    private static UUID randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
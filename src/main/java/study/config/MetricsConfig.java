@@ -0,0 +1,52 @@
+package study.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.metrics.ConnectionPoolMetrics;
+import study.metrics.RepositoryMethodMetrics;
+
+/**
+ * study.metrics.enabled=true 일 때만 리포지토리 호출 / 커넥션 획득 시간을 기록한다.
+ * 꺼져 있으면 아래 후처리기가 등록되지 않으므로 측정 코드가 호출 경로에 남지 않는다.
+ *
+ * BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 선언하고, 측정 빈은 사용 시점에 가져온다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "study.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+    @Bean
+    public static BeanPostProcessor repositoryMethodMetricsPostProcessor(ObjectProvider<RepositoryMethodMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(metrics.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * p6spy 등 DataSource 를 감싸는 후처리기보다 먼저 원본 HikariDataSource 에 등록해야 하므로 초기화 전에 처리한다.
+     */
+    @Bean
+    public static BeanPostProcessor connectionPoolMetricsPostProcessor(ObjectProvider<ConnectionPoolMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                    metrics.getObject().register(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
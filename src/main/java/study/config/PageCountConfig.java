@@ -0,0 +1,43 @@
+package study.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.repository.count.EvictPageCount;
+import study.repository.count.PageCountEvictionInterceptor;
+
+import java.util.Arrays;
+
+/**
+ * @EvictPageCount 메서드가 있는 리포지토리에만 count 캐시 제거 인터셉터를 등록한다.
+ *
+ * 트랜잭션 인터셉터 안쪽에 추가되므로, 메서드가 트랜잭션 경계이면 그 트랜잭션의 커밋 이후에 제거된다.
+ */
+@Configuration
+public class PageCountConfig {
+    @Bean
+    public static BeanPostProcessor pageCountEvictionPostProcessor(ObjectProvider<PageCountEvictionInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                if (hasEvictMethod(repositoryInformation.getRepositoryInterface())) {
+                                    proxyFactory.addAdvice(interceptor.getObject());
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean hasEvictMethod(Class<?> repositoryInterface) {
+        return Arrays.stream(repositoryInterface.getMethods())
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, EvictPageCount.class));
+    }
+}
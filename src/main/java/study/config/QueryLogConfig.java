@@ -0,0 +1,41 @@
+package study.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datasource.QueryLogProperties;
+import study.datasource.QueryLoggingDataSource;
+import study.datasource.SampledQueryLogger;
+
+import javax.sql.DataSource;
+
+/**
+ * study.query-log.mode=sampled 일 때 애플리케이션이 사용하는 DataSource(dataSource 빈)를 QueryLoggingDataSource 로 감싼다.
+ * 복제본 라우팅을 켜도 라우팅 DataSource 바깥에서 한 번만 기록한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "study.query-log", name = "mode", havingValue = "sampled", matchIfMissing = true)
+public class QueryLogConfig {
+    @Bean(destroyMethod = "close")
+    public SampledQueryLogger sampledQueryLogger(QueryLogProperties properties) {
+        return new SampledQueryLogger(properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSourcePostProcessor(ObjectProvider<SampledQueryLogger> logger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryLoggingDataSource)) {
+                    return new QueryLoggingDataSource(dataSource, logger.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package study.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import study.datasource.ReplicaLagMonitor;
+import study.datasource.ReplicaLagProbe;
+import study.datasource.ReplicaProperties;
+import study.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * study.datasource.replica.enabled=true 일 때 원본(spring.datasource) / 복제본 라우팅 DataSource 를 구성한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "study.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+    /**
+     * 스프링 부트 기본 구성(DataSourceConfiguration.Hikari)과 같이 spring.datasource.hikari.* 를 바인딩한다.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * 접속 정보 외의 풀 설정(spring.datasource.hikari.*)은 원본과 같다.
+     * 풀 이름이 겹치면 풀별 지표가 합쳐지므로 원본 풀 이름 뒤에 -replica 를 붙인다.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties properties, Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+
+        dataSource.setPoolName(dataSource.getPoolName() == null ? "replica" : dataSource.getPoolName() + "-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 복제 지연 확인 구현이 없으면 지연이 없는 것으로 본다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReplicaProperties properties,
+                                 ObjectProvider<ReplicaLagProbe> lagProbe) {
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(lagProbe.getIfAvailable(() -> () -> Duration.ZERO),
+                properties.getMaxLag(), properties.getLagCheckInterval());
+
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
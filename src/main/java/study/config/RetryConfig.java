@@ -0,0 +1,44 @@
+package study.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.repository.retry.RetryOnConflict;
+import study.repository.retry.RetryOnConflictInterceptor;
+
+import java.util.Arrays;
+
+/**
+ * @RetryOnConflict 메서드가 있는 리포지토리에만 재시도 인터셉터를 등록한다.
+ *
+ * 트랜잭션 인터셉터는 리포지토리 팩토리 생성 시점에 먼저 등록되므로, 재시도가 커밋 이후의 충돌까지 보도록
+ * 프록시 체인의 맨 앞(0번)에 추가한다.
+ */
+@Configuration
+public class RetryConfig {
+    @Bean
+    public static BeanPostProcessor retryOnConflictPostProcessor(ObjectProvider<RetryOnConflictInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                if (hasRetryMethod(repositoryInformation.getRepositoryInterface())) {
+                                    proxyFactory.addAdvice(0, interceptor.getObject());
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean hasRetryMethod(Class<?> repositoryInterface) {
+        return Arrays.stream(repositoryInterface.getMethods())
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, RetryOnConflict.class));
+    }
+}
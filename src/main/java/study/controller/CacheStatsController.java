@@ -0,0 +1,50 @@
+package study.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 2차 캐시 / 쿼리 캐시 적중률
+ * hibernate.generate_statistics 가 꺼져 있으면 모두 0 이다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/cache/stats")
+    public Map<String, Object> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+
+            Map<String, Long> regionStats = new LinkedHashMap<>();
+            regionStats.put("hit", region.getHitCount());
+            regionStats.put("miss", region.getMissCount());
+            regionStats.put("put", region.getPutCount());
+            regionStats.put("size", region.getElementCountInMemory());
+            regions.put(regionName, regionStats);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        result.put("queryCache", Map.of(
+                "hit", statistics.getQueryCacheHitCount(),
+                "miss", statistics.getQueryCacheMissCount(),
+                "put", statistics.getQueryCachePutCount()));
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package study.controller;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import study.repository.count.CountStrategy;
+
+/**
+ * count 요청 파라미터 변환, 대소문자를 구분하지 않는다.
+ * 알 수 없는 값은 변환 실패(MethodArgumentTypeMismatchException)로 400 응답이 된다.
+ */
+@Component
+public class CountStrategyConverter implements Converter<String, CountStrategy> {
+    @Override
+    public CountStrategy convert(String source) {
+        return CountStrategy.from(source);
+    }
+}
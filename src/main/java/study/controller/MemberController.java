@@ -1,22 +1,52 @@
 package study.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import study.dto.MemberDTO;
+import study.dto.ScrollDTO;
 import study.entity.Member;
 import study.repository.MemberRepository;
+import study.repository.async.AsyncMemberRepository;
+import study.repository.async.ParallelPageExecutor;
+import study.repository.count.CountQuery;
+import study.repository.count.CountStrategy;
+import study.repository.count.PageCountExecutor;
+import study.repository.projection.MemberProjection;
+import study.repository.scroll.KeysetCursor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
+    private static final int MAX_SCROLL_SIZE = 2000;
+
     private final MemberRepository memberRepository;
+    private final AsyncMemberRepository asyncMemberRepository;
+    private final PageCountExecutor pageCountExecutor;
+    private final ParallelPageExecutor parallelPageExecutor;
+    private final ObjectMapper objectMapper;
+    private final StreamingPageWriter streamingPageWriter;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -24,6 +54,16 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * 비동기 조회
+     * 조회가 끝날 때까지 요청 스레드(Tomcat)를 점유하지 않는다.
+     */
+    @GetMapping("/members/{id}/async")
+    public CompletableFuture<String> findMemberAsync(@PathVariable("id") Long id) {
+        return asyncMemberRepository.findById(id)
+                .thenApply(member -> member.get().getUsername());
+    }
+
     /**
      * 주의:
      * 도메인 클래스 컨버터로 엔티티를 파라미터로 받으면,
@@ -38,10 +78,33 @@ public class MemberController {
     /**
      * ex:
      * http://localhost:8080/members?page=0&size=3&sort=id,desc&sort=createdDate,asc
+     * http://localhost:8080/members?page=1500&size=2000&count=estimated
+     *
+     * count 파라미터(exact, cached, estimated, none)로 전체 개수 조회 방법을 요청마다 지정할 수 있다.
      */
     @GetMapping("/members")
-    public Page<Member> list(Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    public Page<Member> list(Pageable pageable,
+                             @RequestParam(value = "count", required = false) CountStrategy count) {
+        return findAll(pageable, count);
+    }
+
+    /**
+     * list 와 같은 페이지를 DTO(팀 이름 포함)로 스트리밍한다.
+     * 엔티티 / PageImpl 을 만들지 않고 행을 읽는 즉시 쓰며, count 메타데이터(page)는 마지막에 쓴다.
+     * 응답 형식은 {"content":[...],"page":{...}} 이다.
+     *
+     * ex:
+     * http://localhost:8080/members/stream?page=10&size=2000&sort=username
+     */
+    @GetMapping("/members/stream")
+    public ResponseEntity<StreamingResponseBody> listStream(Pageable pageable,
+                                                            @RequestParam(value = "count", required = false) CountStrategy count) {
+        StreamingResponseBody body = streamingPageWriter.write(pageable, membersCount(), count,
+                (offset, limit) -> memberRepository.streamMemberDto(offset, limit, pageable.getSort()));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
@@ -52,22 +115,125 @@ public class MemberController {
     public Page<Member> listDefault(@PageableDefault(
             size = 12,
             sort = "username",
-            direction = Sort.Direction.DESC) Pageable pageable) {
-        return memberRepository.findAll(pageable);
+            direction = Sort.Direction.DESC) Pageable pageable,
+                                    @RequestParam(value = "count", required = false) CountStrategy count) {
+        return findAll(pageable, count);
     }
 
     /**
      * Page To DTO
+     * 엔티티를 로딩해 map(MemberDTO::new) 하지 않고, MemberDTO 생성자 표현식으로 필요한 컬럼(팀 이름 포함)만 조회한다.
      */
     @GetMapping("/members/dto")
-    public Page<MemberDTO> listDto(Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDTO::new);
+    public Page<MemberDTO> listDto(Pageable pageable,
+                                   @RequestParam(value = "count", required = false) CountStrategy count) {
+        return pageCountExecutor.execute(membersCount(), count, pageable,
+                p -> memberRepository.findProjectedSliceBy(p, MemberDTO.class));
+    }
+
+    /**
+     * Native 쿼리 Projection 페이징
+     */
+    @GetMapping("/members/projection")
+    public Page<MemberProjection> listProjection(Pageable pageable,
+                                                 @RequestParam(value = "count", required = false) CountStrategy count) {
+        return pageCountExecutor.execute(membersCount(), count, pageable,
+                memberRepository::findSliceByNativeProjection);
+    }
+
+    /**
+     * 나이별 페이징
+     * content 와 count 쿼리를 서로 다른 커넥션에서 동시에 실행한다.
+     */
+    @GetMapping("/members/age/{age}")
+    public Page<MemberDTO> listByAge(@PathVariable("age") int age, Pageable pageable) {
+        // OSIV 요청에서는 content 가 다른 스레드의 트랜잭션에서 조회되므로 팀 이름은 그 안에서 읽는다.
+        return parallelPageExecutor.execute(pageable,
+                p -> memberRepository.findContentByAge(age, p).stream().map(MemberDTO::new).toList(),
+                () -> memberRepository.countByAge(age));
+    }
+
+    /**
+     * Keyset 스크롤
+     * 깊은 페이지에서도 offset 만큼 읽고 버리는 비용이 없다.
+     * 다른 order 로 만든 커서나 해석할 수 없는 커서는 400 응답이 된다.
+     *
+     * ex:
+     * http://localhost:8080/members/scroll?size=3&order=username
+     * http://localhost:8080/members/scroll?size=3&order=username&cursor={nextCursor}
+     */
+    @GetMapping("/members/scroll")
+    public ScrollDTO<MemberDTO> scroll(@RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "size", defaultValue = "10") int size,
+                                       @RequestParam(value = "order", defaultValue = "id") String order) {
+        boolean byUsername = "username".equals(order);
+        Sort sort = byUsername ? Sort.by("username", "id") : Sort.by("id");
+
+        ScrollPosition position;
+        try {
+            position = KeysetCursor.decode(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        Limit limit = Limit.of(Math.min(Math.max(size, 1), MAX_SCROLL_SIZE));
+
+        Window<Member> window = byUsername
+                ? memberRepository.findScrollByOrderByUsernameAscIdAsc(position, limit)
+                : memberRepository.findScrollByOrderByIdAsc(position, limit);
+
+        String nextCursor = window.hasNext() ? KeysetCursor.encode(window.positionAt(window.size() - 1), sort) : null;
+
+        return new ScrollDTO<>(window.map(MemberDTO::new).getContent(), nextCursor, window.hasNext());
+    }
+
+    /**
+     * 전체 회원 NDJSON 내보내기
+     * 결과를 List 로 모으지 않고 읽는 즉시 한 줄씩 쓰므로 테이블 크기와 무관하게 메모리 사용량이 일정하다.
+     *
+     * ex:
+     * http://localhost:8080/members/export?fetchSize=1000
+     */
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "fetchSize", defaultValue = "500") int fetchSize) {
+        int batch = Math.max(fetchSize, 1);
+
+        StreamingResponseBody body = out -> {
+            long[] written = {0};
+
+            memberRepository.forEachMember(batch, member -> {
+                try {
+                    String teamName = member.getTeam() != null ? member.getTeam().getName() : null;
+                    out.write(objectMapper.writeValueAsBytes(new MemberDTO(member.getId(), member.getUsername(), teamName)));
+                    out.write('\n');
+
+                    // 첫 행은 바로 내보내 응답 대기 시간(TTFB)을 줄인다.
+                    if (++written[0] == 1 || written[0] % batch == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private Page<Member> findAll(Pageable pageable, CountStrategy count) {
+        return pageCountExecutor.execute(membersCount(), count, pageable,
+                memberRepository::findSliceBy);
+    }
+
+    private CountQuery membersCount() {
+        return CountQuery.table("members", "member", memberRepository::count);
     }
 
 //    @PostConstruct
     public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, i));
-        }
+        memberRepository.saveAllBatched(IntStream.range(0, 100)
+                .mapToObj(i -> new Member("user" + i, i)));
     }
 }
@@ -0,0 +1,115 @@
+package study.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.hibernate.SessionFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datasource.PoolAutoSizer;
+import study.datasource.PoolResize;
+import study.datasource.QueryLogStats;
+import study.datasource.SampledQueryLogger;
+import study.metrics.ConnectionPoolMetrics;
+import study.metrics.ConnectionPoolStats;
+import study.metrics.HibernateStats;
+import study.metrics.RepositoryMethodMetrics;
+import study.metrics.RepositoryMethodStats;
+import study.repository.count.PageCountExecutor;
+import study.repository.count.PageCountStats;
+import study.repository.example.ExampleCacheStats;
+import study.repository.example.ExampleQueryCompiler;
+import study.repository.retry.RetryOnConflictInterceptor;
+import study.repository.retry.RetryStats;
+import study.repository.specification.SpecificationCacheStats;
+import study.repository.specification.SpecificationCompiler;
+import study.repository.statement.SqlStatementCounter;
+import study.repository.statement.SqlStatementStats;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 애플리케이션 내부 누적 지표 조회
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final PageCountExecutor pageCountExecutor;
+    private final SpecificationCompiler specificationCompiler;
+    private final ExampleQueryCompiler exampleQueryCompiler;
+    private final RepositoryMethodMetrics repositoryMethodMetrics;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<SampledQueryLogger> sampledQueryLogger;
+    private final ObjectProvider<PoolAutoSizer> poolAutoSizer;
+    private final RetryOnConflictInterceptor retryOnConflictInterceptor;
+
+    @GetMapping("/metrics/sql")
+    public SqlStatementStats sql() {
+        return sqlStatementCounter.stats();
+    }
+
+    @GetMapping("/metrics/page-count")
+    public PageCountStats pageCount() {
+        return pageCountExecutor.stats();
+    }
+
+    @GetMapping("/metrics/specification")
+    public SpecificationCacheStats specification() {
+        return specificationCompiler.stats();
+    }
+
+    @GetMapping("/metrics/example")
+    public ExampleCacheStats example() {
+        return exampleQueryCompiler.stats();
+    }
+
+    /**
+     * 리포지토리 메서드별 수행 시간 히스토그램 (study.metrics.enabled)
+     */
+    @GetMapping("/metrics/repositories")
+    public Map<String, RepositoryMethodStats> repositories() {
+        return repositoryMethodMetrics.stats();
+    }
+
+    /**
+     * 커넥션 풀별 상태(active / idle / pending)와 획득 / 사용 시간 히스토그램 (study.metrics.enabled)
+     */
+    @GetMapping("/metrics/connections")
+    public Map<String, ConnectionPoolStats> connections() {
+        return connectionPoolMetrics.stats();
+    }
+
+    /**
+     * 풀 크기 자동 조정 이력 (study.datasource.pool-sizing.enabled)
+     */
+    @GetMapping("/metrics/pool-sizing")
+    public List<PoolResize> poolSizing() {
+        PoolAutoSizer sizer = poolAutoSizer.getIfAvailable();
+        return sizer == null ? List.of() : sizer.history();
+    }
+
+    /**
+     * @RetryOnConflict 메서드의 충돌 / 재시도 횟수
+     */
+    @GetMapping("/metrics/retry")
+    public RetryStats retry() {
+        return retryOnConflictInterceptor.stats();
+    }
+
+    @GetMapping("/metrics/hibernate")
+    public HibernateStats hibernate() {
+        return HibernateStats.of(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+
+    /**
+     * study.query-log.mode=sampled 가 아니면 모두 0 이다.
+     */
+    @GetMapping("/metrics/query-log")
+    public QueryLogStats queryLog() {
+        SampledQueryLogger logger = sampledQueryLogger.getIfAvailable();
+        return logger == null ? new QueryLogStats(0, 0, 0, 0) : logger.stats();
+    }
+}
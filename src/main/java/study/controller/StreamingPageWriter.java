@@ -0,0 +1,98 @@
+package study.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.repository.count.CountQuery;
+import study.repository.count.CountStrategy;
+import study.repository.count.PageCountExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Page 응답을 List / PageImpl 로 모으지 않고 결과 집합에서 읽는 즉시 JSON 으로 쓴다.
+ * count 는 content 를 모두 쓴 뒤 실행하므로 마지막 페이지가 아니면 첫 행이 count 를 기다리지 않는다.
+ *
+ * 응답 형식은 Spring Data PagedModel 과 같다.
+ * <pre>
+ * {"content":[...],"page":{"size":20,"number":0,"totalElements":100,"totalPages":5}}
+ * </pre>
+ */
+@Component
+public class StreamingPageWriter {
+    private final ObjectMapper objectMapper;
+    private final PageCountExecutor pageCountExecutor;
+    private final TransactionTemplate readOnly;
+
+    public StreamingPageWriter(ObjectMapper objectMapper, PageCountExecutor pageCountExecutor,
+                               PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.pageCountExecutor = pageCountExecutor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * @param content (offset, limit) 로 content 를 읽는 Stream, 다음 페이지 확인을 위해 size + 1 건을 요청한다.
+     */
+    public <T> StreamingResponseBody write(Pageable pageable, CountQuery countQuery, CountStrategy strategy,
+                                           BiFunction<Long, Integer, Stream<T>> content) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        int limit = pageable.isPaged() ? size + 1 : Integer.MAX_VALUE;
+
+        return out -> {
+            // 응답 스트림은 서블릿 컨테이너가 닫는다.
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                readOnly.executeWithoutResult(status -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeArrayFieldStart("content");
+
+                        int written = 0;
+                        boolean hasNext = false;
+                        try (Stream<T> rows = content.apply(offset, limit)) {
+                            Iterator<T> iterator = rows.iterator();
+                            while (iterator.hasNext()) {
+                                T row = iterator.next();
+                                if (written == size) {
+                                    hasNext = true;
+                                    break;
+                                }
+                                generator.writeObject(row);
+                                written++;
+                            }
+                        }
+                        generator.writeEndArray();
+
+                        long total = pageCountExecutor.total(countQuery, strategy, pageable, written, hasNext);
+                        writePage(generator, pageable, written, total);
+                        generator.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+    private static void writePage(JsonGenerator generator, Pageable pageable, int written, long total) throws IOException {
+        int size = pageable.isPaged() ? pageable.getPageSize() : written;
+
+        generator.writeObjectFieldStart("page");
+        generator.writeNumberField("size", size);
+        generator.writeNumberField("number", pageable.isPaged() ? pageable.getPageNumber() : 0);
+        generator.writeNumberField("totalElements", total);
+        generator.writeNumberField("totalPages", size == 0 ? 1 : (total + size - 1) / size);
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,123 @@
+package study.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import study.metrics.ConnectionPoolMetrics;
+import study.metrics.PoolWindow;
+import study.repository.async.AsyncQueryExecutor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 대기 시간을 보고 풀 크기를 조정한다.
+ *
+ * - 늘리기: 구간 평균 대기 시간이 targetWait 를 넘거나, 대기 스레드 / 타임아웃이 있으면 step 만큼
+ * - 줄이기: shrinkAfter 구간 연속으로 대기가 거의 없고 사용 중인 커넥션이 절반 미만이면 하나씩
+ *
+ * 비관적 잠금처럼 커넥션을 오래 잡는 작업이 몰릴 때 풀을 키우면 대기는 줄지만 DB 의 잠금 대기는 그대로이므로,
+ * maxSize 는 DB 가 감당할 수 있는 동시 세션 수 이하로 둔다.
+ *
+ * 원본(읽기 전용이 아닌) 풀 크기를 바꾸면 AsyncQueryExecutor 의 동시 실행 수도 같은 크기로 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "study.datasource.pool-sizing", name = "enabled", havingValue = "true")
+public class PoolAutoSizer implements InitializingBean, DisposableBean {
+    private static final int HISTORY = 50;
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final PoolSizingProperties properties;
+    private final AsyncQueryExecutor asyncQueryExecutor;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("pool-sizing-"));
+
+    private final Map<String, Integer> idleWindows = new ConcurrentHashMap<>();
+    private final Deque<PoolResize> history = new ArrayDeque<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::adjust, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    public synchronized List<PoolResize> history() {
+        return List.copyOf(history);
+    }
+
+    void adjust() {
+        try {
+            for (HikariDataSource dataSource : connectionPoolMetrics.dataSources()) {
+                PoolWindow window = dataSource.getPoolName() == null
+                        ? null : connectionPoolMetrics.window(dataSource.getPoolName());
+                if (window != null) {
+                    adjust(dataSource, window);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("pool sizing failed", e);
+        }
+    }
+
+    private void adjust(HikariDataSource dataSource, PoolWindow window) {
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        String poolName = dataSource.getPoolName();
+        int current = config.getMaximumPoolSize();
+        long targetWait = properties.getTargetWait().toNanos();
+
+        int next = current;
+        if (window.meanWaitNanos() > targetWait || window.pending() > 0 || window.timeouts() > 0) {
+            next = Math.min(properties.getMaxSize(), current + properties.getStep());
+            idleWindows.remove(poolName);
+        } else if (window.meanWaitNanos() < targetWait / 4 && window.active() < current / 2) {
+            if (idleWindows.merge(poolName, 1, Integer::sum) >= properties.getShrinkAfter()) {
+                next = Math.max(properties.getMinSize(), current - 1);
+                idleWindows.remove(poolName);
+            }
+        } else {
+            idleWindows.remove(poolName);
+        }
+
+        if (next != current) {
+            // 최소 유휴 커넥션이 최대 크기를 넘지 않도록 함께 맞춘다.
+            if (config.getMinimumIdle() > next) {
+                config.setMinimumIdle(next);
+            }
+            config.setMaximumPoolSize(next);
+            if (!dataSource.isReadOnly()) {
+                asyncQueryExecutor.poolResized(next);
+            }
+            record(new PoolResize(LocalDateTime.now(), poolName, current, next,
+                    window.meanWaitNanos() / 1_000_000.0, window.pending(), window.timeouts()));
+        }
+    }
+
+    private synchronized void record(PoolResize resize) {
+        log.info("resize pool {}: {} -> {} (mean wait {}ms, pending {}, timeouts {})", resize.poolName(),
+                resize.from(), resize.to(), resize.meanWaitMillis(), resize.pending(), resize.timeouts());
+        history.addLast(resize);
+        if (history.size() > HISTORY) {
+            history.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package study.datasource;
+
+import java.time.LocalDateTime;
+
+public record PoolResize(LocalDateTime at, String poolName, int from, int to,
+                         double meanWaitMillis, int pending, long timeouts) {
+}
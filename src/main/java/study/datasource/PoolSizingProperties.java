@@ -0,0 +1,39 @@
+package study.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "study.datasource.pool-sizing")
+@Getter
+@Setter
+public class PoolSizingProperties {
+    /**
+     * 관측한 커넥션 대기 시간으로 maximumPoolSize 를 조정한다. (study.metrics.enabled 필요)
+     */
+    private boolean enabled = false;
+
+    private int minSize = 5;
+    private int maxSize = 40;
+
+    /**
+     * 구간 평균 대기 시간이 이 값을 넘거나 대기 스레드가 있으면 풀을 늘린다.
+     */
+    private Duration targetWait = Duration.ofMillis(5);
+
+    /**
+     * 한 번에 늘리는 커넥션 수, 줄일 때는 하나씩 줄인다.
+     */
+    private int step = 2;
+
+    private Duration interval = Duration.ofSeconds(5);
+
+    /**
+     * 이 횟수만큼 연속으로 한가하면(대기 시간 targetWait / 4 미만, 사용률 절반 미만) 줄인다.
+     */
+    private int shrinkAfter = 6;
+}
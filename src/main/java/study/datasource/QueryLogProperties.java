@@ -0,0 +1,38 @@
+package study.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "study.query-log")
+@Getter
+@Setter
+public class QueryLogProperties {
+    /**
+     * sampled: SampledQueryLogger, p6spy: 모든 SQL 기록 (decorator.datasource.enabled=true 필요), off: 기록하지 않음
+     */
+    private Mode mode = Mode.SAMPLED;
+
+    /**
+     * 느리지 않은 쿼리 중 기록할 비율 (0 ~ 1)
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 이 시간 이상 걸린 쿼리는 항상 바인딩 파라미터와 함께 기록한다.
+     */
+    private Duration slowThreshold = Duration.ofMillis(100);
+
+    /**
+     * 비동기 기록 대기열 크기 (2의 거듭제곱으로 올림), 가득 차면 버린다.
+     */
+    private int bufferSize = 4096;
+
+    public enum Mode {
+        SAMPLED, P6SPY, OFF
+    }
+}
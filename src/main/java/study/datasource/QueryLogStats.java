@@ -0,0 +1,10 @@
+package study.datasource;
+
+/**
+ * @param statements 실행된 SQL 수
+ * @param sampled    표본으로 기록한 수
+ * @param slow       느린 쿼리로 기록한 수
+ * @param dropped    대기열이 가득 차서 버린 수
+ */
+public record QueryLogStats(long statements, long sampled, long slow, long dropped) {
+}
@@ -0,0 +1,113 @@
+package study.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * 실행 시간과 바인딩 파라미터를 SampledQueryLogger 에 넘기는 DataSource
+ *
+ * p6spy 와 달리 실행마다 문자열을 만들지 않고, 파라미터는 배열에 참조만 담아 둔다.
+ */
+public class QueryLoggingDataSource extends DelegatingDataSource {
+    private final SampledQueryLogger logger;
+
+    public QueryLoggingDataSource(DataSource targetDataSource, SampledQueryLogger logger) {
+        super(targetDataSource);
+        this.logger = logger;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> statement(result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> statement(result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> statement(result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Object target, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new StatementHandler(target, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String sql;
+        private Object[] parameters;
+        private int batch;
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long start = System.nanoTime();
+                try {
+                    return QueryLoggingDataSource.invoke(target, method, args);
+                } finally {
+                    logger.record(executed, System.nanoTime() - start, parameters, name.equals("executeBatch") ? batch : 0);
+                    if (name.equals("executeBatch")) {
+                        batch = 0;
+                    }
+                }
+            }
+
+            if (name.equals("addBatch")) {
+                batch++;
+            } else if (name.equals("clearParameters")) {
+                parameters = null;
+            } else if (args != null && args.length >= 2 && args[0] instanceof Integer index && name.startsWith("set")) {
+                // setString(1, "a"), setNull(2, Types.VARCHAR) ...
+                bind(index, name.equals("setNull") ? null : args[1]);
+            }
+            return QueryLoggingDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (parameters == null) {
+                parameters = new Object[Math.max(index, 4)];
+            } else if (parameters.length < index) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+        }
+    }
+}
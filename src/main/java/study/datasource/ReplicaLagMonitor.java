@@ -0,0 +1,52 @@
+package study.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 복제 지연을 주기적으로 확인하여 복제본 사용 가능 여부를 판단한다.
+ * 커넥션을 얻을 때마다 호출되므로 확인 주기 사이에는 마지막 결과를 그대로 사용한다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final ReplicaLagProbe probe;
+    private final Duration maxLag;
+    private final long checkIntervalNanos;
+
+    private volatile boolean replicaUsable = true;
+    private volatile long nextCheckAt = System.nanoTime();
+
+    public ReplicaLagMonitor(ReplicaLagProbe probe, Duration maxLag, Duration checkInterval) {
+        this.probe = probe;
+        this.maxLag = maxLag;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    public boolean isReplicaUsable() {
+        long now = System.nanoTime();
+        if (now - nextCheckAt >= 0) {
+            synchronized (this) {
+                if (now - nextCheckAt >= 0) {
+                    replicaUsable = check();
+                    nextCheckAt = now + checkIntervalNanos;
+                }
+            }
+        }
+        return replicaUsable;
+    }
+
+    private boolean check() {
+        try {
+            Duration lag = probe.currentLag();
+            if (lag.compareTo(maxLag) > 0) {
+                log.warn("replica lag {} exceeds {}, routing reads to primary", lag, maxLag);
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("replica lag check failed, routing reads to primary", e);
+            return false;
+        }
+    }
+}
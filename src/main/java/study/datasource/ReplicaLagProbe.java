@@ -0,0 +1,13 @@
+package study.datasource;
+
+import java.time.Duration;
+
+/**
+ * 복제본의 현재 복제 지연을 알려주는 확장 지점
+ * 데이터베이스에 맞는 구현(예: 복제 상태 테이블의 마지막 반영 시각 조회)을 빈으로 등록한다.
+ * 조회 실패 시 예외를 던지면 복제본을 사용하지 않는다.
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+    Duration currentLag();
+}
@@ -0,0 +1,33 @@
+package study.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "study.datasource.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+    /**
+     * 읽기 전용 트랜잭션을 복제본으로 보낼지 여부
+     */
+    private boolean enabled = false;
+
+    private String url;
+    private String username;
+    private String password;
+
+    /**
+     * 복제 지연이 이 값을 넘으면 읽기 전용 트랜잭션도 원본으로 보낸다.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * 복제 지연 확인 주기
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
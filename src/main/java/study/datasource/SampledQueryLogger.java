@@ -0,0 +1,149 @@
+package study.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 표본 + 느린 쿼리만 기록하는 SQL 로거
+ *
+ * - 느린 쿼리(slowThreshold 이상)는 항상, 나머지는 sampleRate 비율로만 기록한다.
+ * - 바인딩 파라미터는 느린 쿼리에만 남긴다. 빠른 쿼리는 파라미터 배열을 복사하거나 문자열로 만들지 않는다.
+ * - 실행 스레드는 잠금 없는 링 버퍼에 넣기만 하고, 로그 출력은 별도 스레드가 한다. 버퍼가 가득 차면 버린다.
+ * - 출력 스레드는 버퍼가 비면 잠들고, 잠든 동안 기록이 들어오면 실행 스레드가 깨운다.
+ */
+@Slf4j
+public class SampledQueryLogger implements AutoCloseable {
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    private final AtomicReferenceArray<Entry> buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public SampledQueryLogger(QueryLogProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getBufferSize() - 1)) << 1;
+
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        this.writer = new Thread(this::drain, "query-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @param parameters 느린 쿼리일 때만 복사해서 기록한다. null 이면 파라미터 없음
+     * @param batch      배치 실행이면 배치 건수, 아니면 0
+     */
+    public void record(String sql, long elapsedNanos, Object[] parameters, int batch) {
+        statements.increment();
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            slow.increment();
+            offer(new Entry(sql, elapsedNanos, batch, true,
+                    parameters == null ? null : Arrays.copyOf(parameters, parameters.length)));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sampled.increment();
+            offer(new Entry(sql, elapsedNanos, batch, false, null));
+        }
+    }
+
+    public QueryLogStats stats() {
+        return new QueryLogStats(statements.sum(), sampled.sum(), slow.sum(), dropped.sum());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * 여러 실행 스레드가 tail 을 CAS 로 하나씩 차지한다. 차지한 칸은 반드시 채우므로 소비 스레드가 빈칸에서 멈추지 않는다.
+     */
+    private void offer(Entry entry) {
+        while (true) {
+            long position = tail.get();
+            if (position - head >= buffer.length()) {
+                dropped.increment();
+                return;
+            }
+            if (tail.compareAndSet(position, position + 1)) {
+                buffer.set((int) position & mask, entry);
+                if (idle) {
+                    LockSupport.unpark(writer);
+                }
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        long position = head;
+        while (running || position < tail.get()) {
+            Entry entry = buffer.get((int) position & mask);
+            if (entry == null) {
+                if (position < tail.get()) {
+                    // 칸을 차지한 스레드가 아직 값을 쓰지 않았다.
+                    Thread.onSpinWait();
+                } else {
+                    // idle 을 먼저 쓰고 칸을 다시 확인하므로, 그 사이에 들어온 기록은 놓치지 않는다. (offer 는 칸을 쓰고 idle 을 읽는다.)
+                    idle = true;
+                    if (running && buffer.get((int) position & mask) == null) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                }
+                continue;
+            }
+
+            buffer.set((int) position & mask, null);
+            head = ++position;
+            write(entry);
+        }
+    }
+
+    /**
+     * 아직 출력하지 않은 기록 수
+     */
+    long pending() {
+        return tail.get() - head;
+    }
+
+    Thread.State writerState() {
+        return writer.getState();
+    }
+
+    private static void write(Entry entry) {
+        double millis = entry.elapsedNanos() / 1_000_000.0;
+        String batch = entry.batch() > 0 ? " batch=" + entry.batch() : "";
+
+        if (entry.slow()) {
+            log.warn("slow query {}ms{} | {} | parameters={}", String.format("%.3f", millis), batch, entry.sql(),
+                    entry.parameters() == null ? "[]" : Arrays.toString(entry.parameters()));
+        } else {
+            log.info("sampled query {}ms{} | {}", String.format("%.3f", millis), batch, entry.sql());
+        }
+    }
+
+    private record Entry(String sql, long elapsedNanos, int batch, boolean slow, Object[] parameters) {
+    }
+}
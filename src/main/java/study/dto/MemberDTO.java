@@ -15,8 +15,13 @@ public class MemberDTO {
         this.teamName = teamName;
     }
 
+    /**
+     * 이미 로딩된 엔티티 변환용, 팀이 지연 로딩 상태라면 팀 조회가 일어난다. (default_batch_fetch_size 로 묶인다.)
+     * 조회 목적이라면 엔티티 대신 findProjectedSliceBy(pageable, MemberDTO.class) 로 바로 조회한다.
+     */
     public MemberDTO(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
+        this.teamName = member.getTeam() != null ? member.getTeam().getName() : null;
     }
 }
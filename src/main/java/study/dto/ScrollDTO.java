@@ -0,0 +1,22 @@
+package study.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Keyset 스크롤 응답
+ * 다음 요청 시 nextCursor 를 cursor 파라미터로 그대로 전달한다.
+ */
+@Getter
+public class ScrollDTO<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public ScrollDTO(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
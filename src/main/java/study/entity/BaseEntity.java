@@ -1,14 +1,16 @@
 package study.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-@EntityListeners(AuditingEntityListener.class) // 이벤트 기반 동작 설정
+import java.time.LocalDateTime;
+
+/**
+ * 리스너(AuditingListener)는 BaseTimeEntity 에서 상속받는다.
+ */
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity{
@@ -18,4 +20,22 @@ public class BaseEntity extends BaseTimeEntity{
 
     @LastModifiedBy
     private String lastModifiedBy;
+
+    @Override
+    public boolean needsAuditor() {
+        return true;
+    }
+
+    @Override
+    public void markCreated(LocalDateTime now, String auditor) {
+        super.markCreated(now, auditor);
+        createdBy = auditor;
+        lastModifiedBy = auditor;
+    }
+
+    @Override
+    public void markModified(LocalDateTime now, String auditor) {
+        super.markModified(now, auditor);
+        lastModifiedBy = auditor;
+    }
 }
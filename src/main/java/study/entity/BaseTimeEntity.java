@@ -6,18 +6,38 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.auditing.AuditTarget;
+import study.auditing.AuditingListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class) // 이벤트 기반 동작 설정
+/**
+ * 애노테이션은 study.auditing.mode=reflective 에서 Spring Data AuditingHandler 가 사용한다.
+ */
+@EntityListeners(AuditingListener.class) // 이벤트 기반 동작 설정
 @MappedSuperclass
 @Getter
-public class BaseTimeEntity {
+public class BaseTimeEntity implements AuditTarget {
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdDate;
 
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    @Override
+    public boolean needsAuditor() {
+        return false;
+    }
+
+    @Override
+    public void markCreated(LocalDateTime now, String auditor) {
+        createdDate = now;
+        lastModifiedDate = now;
+    }
+
+    @Override
+    public void markModified(LocalDateTime now, String auditor) {
+        lastModifiedDate = now;
+    }
 }
@@ -5,6 +5,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -21,9 +22,15 @@ public class Item implements Persistable<String> {
     @Id
     private String id;
 
+    private String name;
+    private int price;
+
     @CreatedDate
     private LocalDateTime createdDate;
 
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+
     protected Item() {
     }
 
@@ -31,6 +38,17 @@ public class Item implements Persistable<String> {
         this.id = id;
     }
 
+    public Item(String id, String name, int price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
+    public void change(String name, int price) {
+        this.name = name;
+        this.price = price;
+    }
+
     @Override
     public boolean isNew() {
         return createdDate == null;
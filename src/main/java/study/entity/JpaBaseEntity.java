@@ -5,6 +5,7 @@ import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import lombok.Getter;
+import study.auditing.AuditingClock;
 
 import java.time.LocalDateTime;
 
@@ -16,15 +17,18 @@ public class JpaBaseEntity {
 
     private LocalDateTime updatedDate;
 
+    /**
+     * 같은 flush 에서 저장되는 엔티티는 같은 시각을 사용한다.
+     */
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AuditingClock.now();
         createdDate = now;
         updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+        updatedDate = AuditingClock.now();
     }
 }
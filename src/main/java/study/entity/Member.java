@@ -2,20 +2,37 @@ package study.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_username_age", columnList = "username, age"), // findByUsername..., username 정렬 스크롤
+        @Index(name = "idx_member_age_username", columnList = "age, username"), // findPageByAge, countByAge
+        @Index(name = "idx_member_team_id", columnList = "team_id") // Team.members 초기화
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"}) // 연관 관계 없는 필드만 사용
 @NamedQuery(
         name = "Member.findByUsername",
-        query = "select m from Member m where m.username = :username"
+        query = "select m from Member m where m.username = :username",
+        hints = {
+                @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                @QueryHint(name = "org.hibernate.cacheRegion", value = "member-by-username")
+        }
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 public class Member extends BaseEntity {
+    /**
+     * allocationSize 를 JDBC 배치 크기와 맞춰 배치 한 번에 시퀀스 조회가 한 번만 일어나도록 한다. (pooled)
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 1000)
     @Column(name = "member_id")
     private Long id;
 
@@ -26,6 +43,14 @@ public class Member extends BaseEntity {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    /**
+     * 낙관적 잠금, UPDATE 시 where version = ? 조건으로 동시 변경을 감지한다.
+     * null 이면 새 엔티티로 판단하므로 직접 변경하지 않는다.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     public Member(String username) {
         this.username = username;
     }
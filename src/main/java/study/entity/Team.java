@@ -5,25 +5,43 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name")) // MemberSpec.teamName
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 public class Team extends JpaBaseEntity {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 1000)
     @Column(name = "team_id")
     private Long id;
 
     private String name;
 
+    /**
+     * 여러 팀의 members 를 초기화할 때 팀 500개씩 IN 절로 조회한다.
+     * 지정하지 않은 연관관계(Member.team 등)는 default_batch_fetch_size 를 따른다.
+     */
     @OneToMany(mappedBy = "team")
+    @BatchSize(size = 500)
     private List<Member> members = new ArrayList<>();
 
+    /**
+     * 낙관적 잠금
+     */
+    @Version
+    private Long version;
+
     public Team(String name) {
         this.name = name;
     }
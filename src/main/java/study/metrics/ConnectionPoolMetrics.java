@@ -0,0 +1,130 @@
+package study.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HikariCP 풀별 커넥션 획득 / 사용 시간과 현재 상태(active / idle / pending)
+ * 복제본 라우팅을 켜면 primary, replica 풀이 각각 기록된다.
+ *
+ * 누수 의심: leakDetectionThreshold 보다 오래 빌려 쓴 뒤 반납된 커넥션 수
+ * (반납되지 않은 커넥션은 Hikari 가 같은 기준으로 경고 로그를 남긴다.)
+ *
+ * @see study.config.MetricsConfig
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private final Map<String, PoolTracker> pools = new ConcurrentHashMap<>();
+    private final List<HikariDataSource> dataSources = new CopyOnWriteArrayList<>();
+
+    /**
+     * 풀 크기 조정(PoolAutoSizer)에 사용할 수 있도록 측정 중인 DataSource 를 보관한다.
+     */
+    public void register(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        dataSources.add(dataSource);
+    }
+
+    public List<HikariDataSource> dataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        long leakThresholdMillis = dataSources.stream()
+                .filter(dataSource -> poolName.equals(dataSource.getPoolName()))
+                .mapToLong(HikariDataSource::getLeakDetectionThreshold)
+                .findFirst()
+                .orElse(0);
+
+        PoolTracker tracker = new PoolTracker(poolStats, leakThresholdMillis);
+        pools.put(poolName, tracker);
+        return tracker;
+    }
+
+    public Map<String, ConnectionPoolStats> stats() {
+        Map<String, ConnectionPoolStats> stats = new TreeMap<>();
+        pools.forEach((name, pool) -> stats.put(name, new ConnectionPoolStats(
+                pool.poolStats.getActiveConnections(), pool.poolStats.getIdleConnections(),
+                pool.poolStats.getPendingThreads(), pool.poolStats.getTotalConnections(),
+                pool.poolStats.getMaxConnections(), pool.maxPending.get(),
+                pool.acquisition.snapshot(), pool.usage.snapshot(),
+                pool.created.sum(), pool.timeouts.sum(), pool.leakSuspects.sum())));
+        return stats;
+    }
+
+    /**
+     * 마지막 호출 이후 구간의 획득 대기 시간, 호출할 때마다 구간을 비운다.
+     */
+    public PoolWindow window(String poolName) {
+        PoolTracker pool = pools.get(poolName);
+        if (pool == null) {
+            return null;
+        }
+
+        long acquisitions = pool.windowAcquisitions.sumThenReset();
+        long waitNanos = pool.windowWaitNanos.sumThenReset();
+        return new PoolWindow(acquisitions, acquisitions == 0 ? 0 : waitNanos / acquisitions,
+                pool.windowTimeouts.sumThenReset(), pool.poolStats.getPendingThreads(),
+                pool.poolStats.getActiveConnections(), pool.poolStats.getTotalConnections());
+    }
+
+    private static class PoolTracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final long leakThresholdMillis;
+
+        private final LatencyHistogram acquisition = new LatencyHistogram();
+        private final LatencyHistogram usage = new LatencyHistogram();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder leakSuspects = new LongAdder();
+        private final LongAccumulator maxPending = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder windowAcquisitions = new LongAdder();
+        private final LongAdder windowWaitNanos = new LongAdder();
+        private final LongAdder windowTimeouts = new LongAdder();
+
+        PoolTracker(PoolStats poolStats, long leakThresholdMillis) {
+            this.poolStats = poolStats;
+            this.leakThresholdMillis = leakThresholdMillis;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            created.increment();
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisition.record(elapsedAcquiredNanos);
+            windowAcquisitions.increment();
+            windowWaitNanos.add(elapsedAcquiredNanos);
+            maxPending.accumulate(poolStats.getPendingThreads());
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(elapsedBorrowedMillis * 1_000_000);
+            if (leakThresholdMillis > 0 && elapsedBorrowedMillis >= leakThresholdMillis) {
+                leakSuspects.increment();
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            windowTimeouts.increment();
+        }
+    }
+}
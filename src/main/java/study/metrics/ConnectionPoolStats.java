@@ -0,0 +1,14 @@
+package study.metrics;
+
+/**
+ * active / idle / pending / total / max 는 조회 시점의 값이다. (Hikari 가 1초 단위로 갱신)
+ *
+ * @param maxPending   커넥션을 얻을 때 관측한 최대 대기 스레드 수
+ * @param acquisition  풀에서 커넥션을 얻기까지 걸린 시간
+ * @param usage        커넥션을 빌려서 반납하기까지의 시간 (ms 단위로만 기록된다.)
+ * @param leakSuspects leakDetectionThreshold 이상 빌려 쓴 커넥션 수
+ */
+public record ConnectionPoolStats(int active, int idle, int pending, int total, int max, long maxPending,
+                                  LatencySnapshot acquisition, LatencySnapshot usage,
+                                  long created, long timeouts, long leakSuspects) {
+}
@@ -0,0 +1,30 @@
+package study.metrics;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Hibernate 누적 통계 중 SQL / 엔티티 로딩 / 2차 캐시 항목
+ * hibernate.generate_statistics 가 꺼져 있으면 모두 0 이다.
+ *
+ * @param entityLoads   SQL 로 읽은 엔티티 수
+ * @param entityFetches 지연 로딩 등으로 추가 조회한 엔티티 수
+ */
+public record HibernateStats(boolean enabled,
+                             long statements, long queries, long maxQueryMillis, String slowestQuery,
+                             long entityLoads, long entityFetches, long collectionLoads, long collectionFetches,
+                             long flushes, long transactions,
+                             long secondLevelCacheHits, long secondLevelCacheMisses, long secondLevelCachePuts,
+                             long queryCacheHits, long queryCacheMisses) {
+
+    public static HibernateStats of(Statistics statistics) {
+        return new HibernateStats(statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(), statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(), statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getEntityLoadCount(), statistics.getEntityFetchCount(),
+                statistics.getCollectionLoadCount(), statistics.getCollectionFetchCount(),
+                statistics.getFlushCount(), statistics.getTransactionCount(),
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount());
+    }
+}
@@ -0,0 +1,77 @@
+package study.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없는 지연 시간 히스토그램
+ *
+ * 구간 상한은 1us 부터 2 배씩 늘어나며(1us, 2us, 4us ... 약 67초), 마지막 구간은 그 이상을 모두 담는다.
+ * 백분위는 해당 순위가 속한 구간의 상한으로 계산하므로 최대 2 배까지 크게 보고될 수 있다.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 28;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        Map<String, Long> nonEmpty = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                nonEmpty.put(i == BUCKETS - 1 ? "+Inf" : "le " + upperBoundMillis(i) + "ms", counts[i]);
+            }
+        }
+
+        long recorded = count.sum();
+        return new LatencySnapshot(recorded,
+                recorded == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / recorded,
+                maxNanos.get() / 1_000_000.0,
+                percentile(counts, total, 0.50),
+                percentile(counts, total, 0.90),
+                percentile(counts, total, 0.99),
+                nonEmpty);
+    }
+
+    private static double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundMillis(Math.min(i, BUCKETS - 2));
+            }
+        }
+        return upperBoundMillis(BUCKETS - 2);
+    }
+
+    private static double upperBoundMillis(int bucket) {
+        return (1L << bucket) / 1_000.0;
+    }
+}
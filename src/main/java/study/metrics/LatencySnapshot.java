@@ -0,0 +1,11 @@
+package study.metrics;
+
+import java.util.Map;
+
+/**
+ * @param buckets 비어 있지 않은 구간별 건수 (구간 상한 -> 건수)
+ */
+public record LatencySnapshot(long count, double meanMillis, double maxMillis,
+                              double p50Millis, double p90Millis, double p99Millis,
+                              Map<String, Long> buckets) {
+}
@@ -0,0 +1,18 @@
+package study.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "study.metrics")
+@Getter
+@Setter
+public class MetricsProperties {
+    /**
+     * 꺼져 있으면 리포지토리 / 커넥션 풀에 측정 코드를 끼워 넣지 않는다.
+     * Hibernate 통계(hibernate.generate_statistics)도 이 값을 따른다.
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,9 @@
+package study.metrics;
+
+/**
+ * 직전 구간의 커넥션 획득 통계
+ *
+ * @param pending 조회 시점에 커넥션을 기다리는 스레드 수
+ */
+public record PoolWindow(long acquisitions, long meanWaitNanos, long timeouts, int pending, int active, int total) {
+}
@@ -0,0 +1,52 @@
+package study.metrics;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 메서드별 수행 시간 (ex: MemberRepository.findPageByAge)
+ * 쿼리 메서드와 커스텀 구현(Fragment), 기본 구현(SimpleJpaRepository) 메서드를 모두 기록하고,
+ * 오버로딩된 메서드는 같은 이름으로 합친다.
+ * CrudRepository 등에서 상속한 메서드는 모든 리포지토리가 같은 Method 를 공유하므로 리포지토리 인터페이스와 함께 구분한다.
+ *
+ * @see study.config.MetricsConfig
+ */
+@Component
+public class RepositoryMethodMetrics implements RepositoryMethodInvocationListener {
+    private final Map<MethodKey, Timer> timersByMethod = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timersByName = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        MethodKey key = new MethodKey(invocation.getRepositoryInterface(), invocation.getMethod());
+        Timer timer = timersByMethod.computeIfAbsent(key, k -> timersByName.computeIfAbsent(
+                k.repositoryInterface().getSimpleName() + "." + k.method().getName(), name -> new Timer()));
+
+        timer.histogram.record(invocation.getDuration(TimeUnit.NANOSECONDS));
+        if (invocation.getResult().getState() == RepositoryMethodInvocationResult.State.ERROR) {
+            timer.errors.increment();
+        }
+    }
+
+    public Map<String, RepositoryMethodStats> stats() {
+        Map<String, RepositoryMethodStats> stats = new TreeMap<>();
+        timersByName.forEach((name, timer) ->
+                stats.put(name, new RepositoryMethodStats(timer.histogram.snapshot(), timer.errors.sum())));
+        return stats;
+    }
+
+    private record MethodKey(Class<?> repositoryInterface, Method method) {
+    }
+
+    private static class Timer {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
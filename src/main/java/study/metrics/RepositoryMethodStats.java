@@ -0,0 +1,4 @@
+package study.metrics;
+
+public record RepositoryMethodStats(LatencySnapshot latency, long errors) {
+}
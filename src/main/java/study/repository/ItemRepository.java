@@ -2,6 +2,7 @@ package study.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.entity.Item;
+import study.repository.custom.ItemRepositoryCustom;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, ItemRepositoryCustom {
 }
@@ -2,17 +2,29 @@ package study.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 import study.entity.Member;
+import study.repository.bulk.BulkUpdateResult;
+import study.repository.bulk.ChunkedBulkUpdater;
+import study.repository.bulk.ChunkedUpdate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+
     public Member save(Member member) {
         entityManager.persist(member);
         return member;
@@ -27,6 +39,29 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    /**
+     * Hibernate ScrollableResults 로 한 행씩 읽는다.
+     * 트랜잭션 안에서 호출해야 하며, fetchSize 마다 영속성 컨텍스트를 비워 메모리 사용량을 일정하게 유지한다.
+     */
+    public void scrollAll(int fetchSize, Consumer<Member> action) {
+        Session session = entityManager.unwrap(Session.class);
+
+        try (ScrollableResults<Member> results = session
+                .createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            long read = 0;
+            while (results.next()) {
+                action.accept(results.get());
+
+                if (++read % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+    }
+
     public Optional<Member> findById(Long id) {
         Member member = entityManager.find(Member.class, id);
         return Optional.ofNullable(member);
@@ -70,9 +105,17 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age) {
-        return entityManager.createQuery("update Member m set m.age = m.age + 1" +
+        return entityManager.createQuery("update Member m set m.age = m.age + 1 " +
                 "where m.age >= :age")
                 .setParameter("age", age)
                 .executeUpdate();
     }
+
+    /**
+     * 기본 키 구간마다 별도 트랜잭션으로 나누어 실행한다.
+     */
+    public BulkUpdateResult bulkAgePlusChunked(int age, int chunkSize, int parallelism) {
+        return chunkedBulkUpdater.execute(new ChunkedUpdate(Member.class,
+                "age = age + 1", "age >= :age", Map.of("age", age), chunkSize, parallelism));
+    }
 }
@@ -2,23 +2,38 @@ package study.repository;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.dto.MemberDTO;
 import study.entity.Member;
+import study.repository.custom.BatchInsertRepository;
+import study.repository.count.EvictPageCount;
 import study.repository.custom.MemberRepositoryCustom;
 import study.repository.projection.MemberProjection;
 import study.repository.projection.UsernameOnly;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member>,
+        BatchInsertRepository<Member> {
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
+    /**
+     * BatchInsertRepository 구현을 그대로 사용하고, 저장 후 회원 count 캐시만 버린다.
+     */
+    @Override
+    @EvictPageCount("members")
+    long saveAllBatched(Stream<Member> entities);
+
     @Query(name = "Member.findByUsername")
     List<Member> findByUsername(@Param("username") String username);
 
@@ -45,11 +60,41 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+    /**
+     * count 쿼리 없이 content 만 조회, ParallelPageExecutor 에서 countByAge 와 동시에 실행한다.
+     */
+    List<Member> findContentByAge(int age, Pageable pageable);
+
+    long countByAge(int age);
+
+    /**
+     * count 쿼리 없는 전체 조회, count 는 PageCountExecutor 가 전략에 따라 처리한다.
+     */
+    Slice<Member> findSliceBy(Pageable pageable);
+
     @Query(value = "select m from Member m", countQuery = "select count(m.username) from Member m")
     Page<Member> findMemberAllCountBy(Pageable pageable);
 
+    /**
+     * Keyset(seek) 페이징
+     * offset 없이 마지막으로 읽은 정렬 키 이후부터 조회하므로 페이지 깊이와 무관하게 일정한 비용이 든다.
+     * 정렬 키에는 반드시 유일한 값(member_id)이 포함되어야 한다.
+     */
+    Window<Member> findScrollByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    Window<Member> findScrollByOrderByUsernameAscIdAsc(ScrollPosition position, Limit limit);
+
+    /**
+     * versioned: 변경된 행의 version 도 올려 동시에 수정 중인 엔티티가 충돌을 감지하게 한다.
+     * 벌크 UPDATE 는 감사 리스너를 거치지 않으므로 수정 시각 / 수정자를 SpEL 파라미터로 함께 설정한다. (BulkAudit)
+     */
+    @Transactional
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @EvictPageCount("members")
+    @Query("update versioned Member m set m.age = m.age + 1, " +
+            "m.lastModifiedDate = coalesce(:#{@bulkAudit.date()}, m.lastModifiedDate), " +
+            "m.lastModifiedBy = coalesce(:#{@bulkAudit.by()}, m.lastModifiedBy) " +
+            "where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     @Query("select m from Member m left join fetch m.team")
@@ -67,9 +112,18 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @EntityGraph("Member.all")
     List<Member> findEntityGraphByUsername(@Param("username") String username);
 
+    /**
+     * 읽기 전용 트랜잭션이므로 복제본 라우팅 사용 시 복제본에서 조회한다.
+     */
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    /**
+     * 잠금은 항상 원본에서 잡아야 하므로 쓰기 트랜잭션으로 실행한다.
+     * 같은 회원을 변경하는 쓰기가 모두 직렬화되므로 충돌이 드물면 addAge(낙관적 잠금 + 재시도)가 유리하다.
+     */
+    @Transactional
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
@@ -86,4 +140,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
             countQuery = "select count(*) from member",
             nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName " +
+            "from member m left join team t ON m.team_id = t.team_id",
+            nativeQuery = true)
+    Slice<MemberProjection> findSliceByNativeProjection(Pageable pageable);
 }
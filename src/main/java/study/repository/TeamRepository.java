@@ -2,6 +2,7 @@ package study.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.entity.Team;
+import study.repository.custom.BatchInsertRepository;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, BatchInsertRepository<Team> {
 }
@@ -0,0 +1,50 @@
+package study.repository.async;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.dto.MemberDTO;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MemberRepository 비동기 Facade
+ * 반환되는 엔티티는 조회 트랜잭션이 끝난 준영속 상태이므로 지연 로딩 연관관계(team)에 접근할 수 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncMemberRepository {
+    private final MemberRepository memberRepository;
+    private final AsyncQueryExecutor asyncQueryExecutor;
+    private final ParallelPageExecutor parallelPageExecutor;
+
+    public CompletableFuture<Optional<Member>> findById(Long id) {
+        return asyncQueryExecutor.submit(() -> memberRepository.findById(id));
+    }
+
+    public CompletableFuture<List<Member>> findByUsername(String username) {
+        return asyncQueryExecutor.submit(() -> memberRepository.findByUsername(username));
+    }
+
+    /**
+     * content 와 count 를 동시에 조회한다.
+     */
+    public CompletableFuture<Page<Member>> findPageByAge(int age, Pageable pageable) {
+        return parallelPageExecutor.executeAsync(pageable,
+                p -> memberRepository.findContentByAge(age, p),
+                () -> memberRepository.countByAge(age));
+    }
+
+    public CompletableFuture<List<MemberDTO>> findMemberDto() {
+        return asyncQueryExecutor.submit(memberRepository::findMemberDto);
+    }
+
+    public CompletableFuture<Member> save(Member member) {
+        return asyncQueryExecutor.submit(() -> memberRepository.save(member));
+    }
+}
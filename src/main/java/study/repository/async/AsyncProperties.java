@@ -0,0 +1,22 @@
+package study.repository.async;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "study.async")
+@Getter
+@Setter
+public class AsyncProperties {
+    /**
+     * 가상 스레드 사용 여부, Java 21 미만에서는 플랫폼 스레드 풀로 대체된다.
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * 동시에 실행할 리포지토리 호출 수, 0 이면 커넥션 풀 최대 크기를 사용한다.
+     */
+    private int maxConcurrency = 0;
+}
@@ -0,0 +1,118 @@
+package study.repository.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * 리포지토리 호출을 요청 스레드 밖에서 실행한다.
+ *
+ * 가상 스레드는 개수 제한이 없으므로 커넥션 풀 크기만큼의 세마포어로 동시 실행 수를 묶어,
+ * 커넥션을 얻지 못한 작업이 풀의 connectionTimeout 으로 실패하지 않고 세마포어에서 기다리게 한다.
+ * max-concurrency 를 지정하지 않았으면 PoolAutoSizer 가 풀 크기를 바꿀 때 세마포어 크기도 함께 바꾼다.
+ */
+@Slf4j
+@Component
+public class AsyncQueryExecutor implements DisposableBean {
+    private final ExecutorService executor;
+    private final ResizableSemaphore permits;
+    private final boolean followsPool;
+    private int concurrency;
+
+    public AsyncQueryExecutor(AsyncProperties properties,
+                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.followsPool = properties.getMaxConcurrency() <= 0;
+        this.concurrency = followsPool ? maximumPoolSize : properties.getMaxConcurrency();
+
+        this.permits = new ResizableSemaphore(concurrency);
+        this.executor = newExecutor(properties.isVirtualThreads(), concurrency);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return query.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * 현재 커넥션 대기 중인 작업 수
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 커넥션 풀 최대 크기가 바뀌었을 때 호출한다. max-concurrency 를 지정했으면 무시한다.
+     * 줄일 때는 이미 실행 중인 작업이 끝나면서 반납하는 허가가 사라진다.
+     */
+    public synchronized void poolResized(int maximumPoolSize) {
+        if (!followsPool || maximumPoolSize == concurrency) {
+            return;
+        }
+
+        // 가상 스레드를 쓸 수 없어 만든 플랫폼 스레드 풀도 같은 크기로 맞춘다.
+        if (maximumPoolSize > concurrency) {
+            if (executor instanceof ThreadPoolExecutor threads) {
+                threads.setMaximumPoolSize(maximumPoolSize);
+                threads.setCorePoolSize(maximumPoolSize);
+            }
+            permits.release(maximumPoolSize - concurrency);
+        } else {
+            permits.reducePermits(concurrency - maximumPoolSize);
+            if (executor instanceof ThreadPoolExecutor threads) {
+                threads.setCorePoolSize(maximumPoolSize);
+                threads.setMaximumPoolSize(maximumPoolSize);
+            }
+        }
+        concurrency = maximumPoolSize;
+    }
+
+    public synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 프로젝트는 Java 17 로 컴파일하므로 가상 스레드 API 는 실행 환경이 지원할 때만 리플렉션으로 사용한다.
+     */
+    private static ExecutorService newExecutor(boolean virtualThreads, int concurrency) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.info("virtual threads are not available on Java {}, using {} platform threads",
+                        Runtime.version().feature(), concurrency);
+            }
+        }
+        return Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("async-repository-"));
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package study.repository.async;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.entity.Team;
+import study.repository.TeamRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * TeamRepository 비동기 Facade
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncTeamRepository {
+    private final TeamRepository teamRepository;
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    public CompletableFuture<Optional<Team>> findById(Long id) {
+        return asyncQueryExecutor.submit(() -> teamRepository.findById(id));
+    }
+
+    public CompletableFuture<List<Team>> findAll() {
+        return asyncQueryExecutor.submit(teamRepository::findAll);
+    }
+
+    public CompletableFuture<Team> save(Team team) {
+        return asyncQueryExecutor.submit(() -> teamRepository.save(team));
+    }
+}
@@ -0,0 +1,112 @@
+package study.repository.async;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Page 의 content 쿼리와 count 쿼리를 서로 다른 커넥션에서 동시에 실행한다.
+ * 페이지 조회 시간이 content + count 에서 max(content, count) 로 줄어든다.
+ *
+ * 각 쿼리는 별도의 읽기 전용 트랜잭션에서 실행되므로 두 결과가 같은 시점의 스냅샷이라는 보장은 없다.
+ * 호출 스레드에 트랜잭션이 있으면 순차 실행한다.
+ * - 다른 커넥션에서는 현재 트랜잭션의 변경 내용이 보이지 않는다.
+ * - 트랜잭션 커넥션을 잡은 채 count 커넥션을 기다리면 커넥션 풀이 고갈될 수 있다.
+ *
+ * 요청 스레드에 EntityManager 가 바인딩되어 있으면(OSIV) 두 쿼리 모두 AsyncQueryExecutor 에서 실행한다.
+ * 바인딩된 EntityManager 는 트랜잭션이 끝나도 커넥션을 요청 끝까지 잡고 있으므로(DELAYED_ACQUISITION_AND_HOLD),
+ * 요청 스레드에서 content 를 조회하면 커넥션을 잡은 채 count 커넥션을 기다리게 된다.
+ * 이 경우 content 는 조회 트랜잭션이 끝난 준영속 엔티티이므로, 지연 로딩이 필요한 변환은 contentQuery 안에서 한다.
+ * 바인딩된 EntityManager 가 이미 커넥션을 잡고 있으면 순차 실행한다.
+ */
+@Component
+public class ParallelPageExecutor {
+    private final AsyncQueryExecutor asyncQueryExecutor;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParallelPageExecutor(AsyncQueryExecutor asyncQueryExecutor, EntityManagerFactory entityManagerFactory,
+                                PlatformTransactionManager transactionManager) {
+        this.asyncQueryExecutor = asyncQueryExecutor;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> Page<T> execute(Pageable pageable, Function<Pageable, List<T>> contentQuery, LongSupplier countQuery) {
+        if (pageable.isUnpaged()) {
+            List<T> content = contentQuery.apply(pageable);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive() || holdsConnection()) {
+            return new PageImpl<>(contentQuery.apply(pageable), pageable, countQuery.getAsLong());
+        }
+
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            return join(executeAsync(pageable, contentQuery, countQuery));
+        }
+
+        CompletableFuture<Long> count = asyncQueryExecutor.submit(() -> readOnly(countQuery::getAsLong));
+        List<T> content;
+        try {
+            content = readOnly(() -> contentQuery.apply(pageable));
+        } catch (RuntimeException e) {
+            count.cancel(false);
+            throw e;
+        }
+
+        return new PageImpl<>(content, pageable, join(count));
+    }
+
+    /**
+     * 두 쿼리 모두 AsyncQueryExecutor 에서 실행한다.
+     */
+    public <T> CompletableFuture<Page<T>> executeAsync(Pageable pageable, Function<Pageable, List<T>> contentQuery,
+                                                       LongSupplier countQuery) {
+        CompletableFuture<List<T>> content = asyncQueryExecutor.submit(() -> readOnly(() -> contentQuery.apply(pageable)));
+        CompletableFuture<Long> count = asyncQueryExecutor.submit(() -> readOnly(countQuery::getAsLong));
+
+        return content.thenCombine(count, (list, total) -> new PageImpl<>(list, pageable, total));
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+
+    /**
+     * 요청 스레드에 바인딩된 EntityManager 가 이미 물리 커넥션을 잡고 있는지
+     */
+    private boolean holdsConnection() {
+        if (!(TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)) {
+            return false;
+        }
+        return holder.getEntityManager().unwrap(SessionImplementor.class)
+                .getJdbcCoordinator().getLogicalConnection().isPhysicallyConnected();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package study.repository.bulk;
+
+import java.time.Duration;
+
+/**
+ * @param updatedRows     변경된 행 수
+ * @param chunks          실행한 구간(트랜잭션) 수
+ * @param elapsed         전체 수행 시간
+ * @param maxChunkElapsed 가장 오래 걸린 구간 트랜잭션 시간 (행 잠금 유지 시간의 상한)
+ */
+public record BulkUpdateResult(long updatedRows, int chunks, Duration elapsed, Duration maxChunkElapsed) {
+    public double rowsPerSecond() {
+        return elapsed.isZero() ? updatedRows : updatedRows / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+}
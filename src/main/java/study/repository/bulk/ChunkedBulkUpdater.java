@@ -0,0 +1,258 @@
+package study.repository.bulk;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.auditing.AuditingClock;
+import study.auditing.AuditingProperties;
+import study.auditing.LastModifiedAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * 기본 키 구간 단위 벌크 UPDATE
+ *
+ * 단일 UPDATE 는 조건에 맞는 모든 행을 하나의 긴 트랜잭션 동안 잠그지만,
+ * 구간마다 별도 트랜잭션(REQUIRES_NEW)으로 커밋하여 잠금 유지 시간을 구간 하나의 처리 시간으로 줄인다.
+ *
+ * Hibernate 의 벌크 연산은 엔티티 2차 캐시 리전 전체를 비우므로, 동기화 대상 테이블 없이 네이티브 UPDATE 를 실행하고
+ * 변경된 엔티티만 2차 캐시와 호출한 쪽의 영속성 컨텍스트에서 제거한다. 쿼리 캐시는 테이블 단위로 무효화한다.
+ *
+ * @Version 이 있는 엔티티는 변경된 행의 version 도 함께 올리고, study.auditing.bulk-rewrite 이면
+ * @LastModifiedDate / @LastModifiedBy 컬럼도 호출 시점의 시각 / auditor 로 설정한다.
+ *
+ * 구간별로 커밋되므로 전체가 하나의 원자적 작업은 아니다. 중간 실패 시 이전 구간은 이미 반영되어 있다.
+ * 호출한 트랜잭션에서 변경한 행과 겹치면 잠금을 기다리게 되므로 트랜잭션 밖에서 호출하는 것을 권장한다.
+ */
+@Slf4j
+@Component
+public class ChunkedBulkUpdater {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final TransactionTemplate chunkTransaction;
+    private final AuditingProperties auditingProperties;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+
+    public ChunkedBulkUpdater(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                              AuditingProperties auditingProperties, ObjectProvider<AuditorAware<String>> auditorAware) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.auditingProperties = auditingProperties;
+        this.auditorAware = auditorAware;
+    }
+
+    public BulkUpdateResult execute(ChunkedUpdate update) {
+        long start = System.nanoTime();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(update.entityType());
+        Target target = Target.of(persister, update, auditingProperties.isBulkRewrite());
+        // 구간은 별도 트랜잭션 / 스레드에서 실행되므로 호출한 쪽에서 한 번 정한 값을 모든 구간에 사용한다.
+        Map<String, Object> auditParameters = auditParameters(target);
+
+        Object[] range = chunkTransaction.execute(status -> (Object[]) bind(entityManager.createNativeQuery(
+                "select min(" + target.idColumn() + "), max(" + target.idColumn() + ") from " + target.table() +
+                        " where " + update.whereClause()), update.parameters())
+                .getSingleResult());
+
+        if (range == null || range[0] == null) {
+            return new BulkUpdateResult(0, 0, Duration.ofNanos(System.nanoTime() - start), Duration.ZERO);
+        }
+
+        long min = ((Number) range[0]).longValue();
+        long max = ((Number) range[1]).longValue();
+
+        List<ChunkResult> results = new ArrayList<>();
+        // 커밋된 구간의 키, 중간 구간이 실패해도 finally 에서 호출한 쪽 영속성 컨텍스트 / 쿼리 캐시를 정리한다.
+        Queue<Object> committedIds = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = update.parallelism() > 1 ? Executors.newFixedThreadPool(update.parallelism()) : null;
+        try {
+            List<CompletableFuture<ChunkResult>> futures = new ArrayList<>();
+            for (long from = min; from <= max; from += update.chunkSize()) {
+                long to = Math.min(from + update.chunkSize() - 1, max);
+
+                if (executor == null) {
+                    results.add(updateChunk(persister, update, target, auditParameters, committedIds, from, to));
+                } else {
+                    long chunkFrom = from;
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> updateChunk(persister, update, target, auditParameters, committedIds, chunkFrom, to), executor));
+                }
+            }
+            // 실패한 구간이 있어도 실행 중인 구간이 모두 끝난 뒤 정리한다.
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+            futures.forEach(future -> results.add(future.join()));
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+            afterChunks(persister, target, committedIds);
+        }
+
+        long updatedRows = 0;
+        long maxChunkNanos = 0;
+        for (ChunkResult result : results) {
+            updatedRows += result.updatedRows();
+            maxChunkNanos = Math.max(maxChunkNanos, result.elapsedNanos());
+        }
+
+        BulkUpdateResult result = new BulkUpdateResult(updatedRows, results.size(),
+                Duration.ofNanos(System.nanoTime() - start), Duration.ofNanos(maxChunkNanos));
+        log.debug("chunked update {}: {}", target.table(), result);
+        return result;
+    }
+
+    /**
+     * 구간 안에서 조건에 맞는 기본 키를 먼저 조회하여 변경 대상(캐시 제거 대상)을 확정한 뒤 해당 키만 변경한다.
+     * 키 조회 이후 조건에서 벗어난 행은 변경하지 않도록 UPDATE 에도 원래 조건을 다시 적용한다.
+     * 커밋되면 바로 해당 구간의 2차 캐시를 제거하여, 이후 구간이 실패해도 이전 값이 캐시에 남지 않게 한다.
+     */
+    private ChunkResult updateChunk(EntityPersister persister, ChunkedUpdate update, Target target,
+                                    Map<String, Object> auditParameters, Queue<Object> committedIds, long from, long to) {
+        ChunkResult result = chunkTransaction.execute(status -> {
+            long start = System.nanoTime();
+
+            List<?> ids = bind(entityManager.createNativeQuery("select " + target.idColumn() + " from " + target.table() +
+                    " where (" + update.whereClause() + ") and " + target.idColumn() + " between :chunkFrom and :chunkTo"),
+                    update.parameters())
+                    .setParameter("chunkFrom", from)
+                    .setParameter("chunkTo", to)
+                    .getResultList();
+
+            int updatedRows = 0;
+            if (!ids.isEmpty()) {
+                Query query = bind(entityManager.createNativeQuery("update " + target.table() + " set " + target.setClause(update) +
+                        " where " + target.idColumn() + " in (:chunkIds) and (" + update.whereClause() + ")"), update.parameters());
+                updatedRows = bind(query, auditParameters)
+                        .setParameter("chunkIds", ids)
+                        .unwrap(NativeQuery.class)
+                        // 동기화 대상이 없음을 알려 Hibernate 가 2차 캐시 리전 전체를 비우지 않게 한다.
+                        .addSynchronizedQuerySpace("")
+                        .executeUpdate();
+                invalidateQueryCache(target);
+            }
+
+            return new ChunkResult(ids, updatedRows, System.nanoTime() - start);
+        });
+
+        for (Object id : result.ids()) {
+            sessionFactory.getCache().evictEntityData(persister.getEntityName(), id);
+        }
+        committedIds.addAll(result.ids());
+        return result;
+    }
+
+    private void afterChunks(EntityPersister persister, Target target, Collection<Object> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        // 구간 커밋 전에 다른 트랜잭션이 이전 값으로 쿼리 캐시를 채웠을 수 있으므로 커밋 이후 한 번 더 무효화한다.
+        chunkTransaction.executeWithoutResult(status -> invalidateQueryCache(target));
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        for (Object id : ids) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                entityManager.detach(managed);
+            }
+        }
+    }
+
+    /**
+     * 이 테이블을 사용하는 쿼리 캐시 결과를 무효화한다.
+     */
+    private void invalidateQueryCache(Target target) {
+        sessionFactory.getCache().getTimestampsCache()
+                .invalidate(new String[]{target.table()}, entityManager.unwrap(SessionImplementor.class));
+    }
+
+    private Map<String, Object> auditParameters(Target target) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (target.lastModifiedDateColumn() != null) {
+            parameters.put("auditDate", AuditingClock.now());
+        }
+        if (target.lastModifiedByColumn() != null) {
+            parameters.put("auditBy", auditorAware.getObject().getCurrentAuditor().orElse(null));
+        }
+        return parameters;
+    }
+
+    private static Query bind(Query query, Map<String, Object> parameters) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private record Target(String table, String idColumn, String versionColumn,
+                          String lastModifiedDateColumn, String lastModifiedByColumn) {
+        static Target of(EntityPersister persister, ChunkedUpdate update, boolean audit) {
+            AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+            LastModifiedAttributes attributes = audit
+                    ? LastModifiedAttributes.of(persister.getMappedClass()) : new LastModifiedAttributes(null, null);
+
+            return new Target(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0],
+                    entityPersister.isVersioned() ? entityPersister.getVersionColumnName() : null,
+                    auditColumn(entityPersister, attributes.date(), update),
+                    auditColumn(entityPersister, attributes.by(), update));
+        }
+
+        /**
+         * set 절에서 이미 설정하는 컬럼이면 null
+         */
+        private static String auditColumn(AbstractEntityPersister persister, String attribute, ChunkedUpdate update) {
+            if (attribute == null) {
+                return null;
+            }
+            String column = persister.getPropertyColumnNames(attribute)[0];
+            return Pattern.compile("(^|[\\s,])" + column + "\\s*=", Pattern.CASE_INSENSITIVE)
+                    .matcher(update.setClause()).find() ? null : column;
+        }
+
+        String setClause(ChunkedUpdate update) {
+            StringBuilder setClause = new StringBuilder(update.setClause());
+            if (versionColumn != null) {
+                setClause.append(", ").append(versionColumn).append(" = ").append(versionColumn).append(" + 1");
+            }
+            if (lastModifiedDateColumn != null) {
+                setClause.append(", ").append(lastModifiedDateColumn).append(" = :auditDate");
+            }
+            if (lastModifiedByColumn != null) {
+                setClause.append(", ").append(lastModifiedByColumn).append(" = :auditBy");
+            }
+            return setClause.toString();
+        }
+    }
+
+    private record ChunkResult(List<?> ids, int updatedRows, long elapsedNanos) {
+    }
+}
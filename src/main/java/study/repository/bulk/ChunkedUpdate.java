@@ -0,0 +1,27 @@
+package study.repository.bulk;
+
+import java.util.Map;
+
+/**
+ * 기본 키 구간으로 나누어 실행할 벌크 UPDATE 정의
+ * set / where 절은 엔티티가 매핑된 테이블의 컬럼 이름으로 작성한 SQL 이다.
+ *
+ * <pre>
+ * new ChunkedUpdate(Member.class, "age = age + 1", "age >= :age", Map.of("age", 20), 1000, 4)
+ * </pre>
+ *
+ * @param chunkSize   한 트랜잭션에서 처리할 기본 키 구간의 크기
+ * @param parallelism 동시에 실행할 구간 수, 1 이면 순차 실행
+ */
+public record ChunkedUpdate(Class<?> entityType,
+                            String setClause,
+                            String whereClause,
+                            Map<String, Object> parameters,
+                            int chunkSize,
+                            int parallelism) {
+    public ChunkedUpdate {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunkSize 와 parallelism 은 1 이상이어야 합니다.");
+        }
+    }
+}
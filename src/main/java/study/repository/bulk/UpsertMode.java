@@ -0,0 +1,19 @@
+package study.repository.bulk;
+
+/**
+ * 대량 저장 시 새 행 / 기존 행을 구분하는 방법
+ */
+public enum UpsertMode {
+    /**
+     * 데이터베이스가 표준 MERGE 를 지원하면 MERGE, 아니면 CLASSIFY
+     */
+    AUTO,
+    /**
+     * IN 절 조회로 기존 id 를 구분한 뒤 INSERT / UPDATE 를 각각 JDBC 배치로 실행한다.
+     */
+    CLASSIFY,
+    /**
+     * MERGE ... WHEN MATCHED / WHEN NOT MATCHED 한 문장을 JDBC 배치로 실행한다. 조회 없이 한 번에 처리한다.
+     */
+    MERGE
+}
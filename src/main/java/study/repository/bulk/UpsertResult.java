@@ -0,0 +1,20 @@
+package study.repository.bulk;
+
+import java.time.Duration;
+
+/**
+ * MERGE 로 처리한 행은 새 행인지 기존 행인지 구분하지 않고 merged 에 합산한다.
+ *
+ * @param inserted 새로 저장한 행 수 (CLASSIFY)
+ * @param updated  변경한 기존 행 수 (CLASSIFY)
+ * @param merged   MERGE 로 처리한 행 수
+ */
+public record UpsertResult(long inserted, long updated, long merged, Duration elapsed) {
+    public long rows() {
+        return inserted + updated + merged;
+    }
+
+    public double rowsPerSecond() {
+        return elapsed.isZero() ? rows() : rows() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,32 @@
+package study.repository.count;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Page 의 count 쿼리 정의
+ *
+ * @param name       전략 설정(study.page-count.strategies)과 캐시 키에 쓰이는 이름
+ * @param parameters 조건 값, 캐시 키에 포함된다.
+ * @param table      추정치를 조회할 테이블, 조건이 있는 쿼리는 null
+ * @param count      정확한 count 쿼리
+ */
+public record CountQuery(String name, List<Object> parameters, String table, LongSupplier count) {
+    /**
+     * 조건 없는 테이블 전체 count
+     */
+    public static CountQuery table(String name, String table, LongSupplier count) {
+        return new CountQuery(name, List.of(), table, count);
+    }
+
+    /**
+     * 조건이 있는 count
+     */
+    public static CountQuery filtered(String name, LongSupplier count, Object... parameters) {
+        return new CountQuery(name, List.of(parameters), null, count);
+    }
+
+    String cacheKey() {
+        return parameters.isEmpty() ? name : name + parameters;
+    }
+}
@@ -0,0 +1,43 @@
+package study.repository.count;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Page 조회 시 전체 개수(totalElements)를 구하는 방법
+ */
+public enum CountStrategy {
+    /**
+     * 매번 count 쿼리 실행
+     */
+    EXACT,
+    /**
+     * 조건별 count 결과를 TTL 동안 재사용
+     */
+    CACHED,
+    /**
+     * 테이블 통계의 추정 행 수 사용 (조건 없는 전체 조회에만 적용, 그 외에는 CACHED 로 동작)
+     */
+    ESTIMATED,
+    /**
+     * count 쿼리 없이 다음 페이지 존재 여부만 확인 (Slice 방식)
+     */
+    NONE;
+
+    /**
+     * 요청 파라미터 변환용, 대소문자를 구분하지 않는다.
+     *
+     * @throws IllegalArgumentException 알 수 없는 값
+     */
+    public static CountStrategy from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 count 전략입니다: " + value
+                    + " (" + Arrays.toString(values()).toLowerCase(Locale.ROOT) + ")", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.repository.count;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 벌크 변경 리포지토리 메서드가 성공하면 CACHED 전략으로 보관 중인 count 를 버린다.
+ * 트랜잭션 안에서 호출되면 커밋된 뒤에 버린다. (커밋 전에 다시 조회한 이전 count 가 남지 않도록)
+ *
+ * @see PageCountEvictionInterceptor
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EvictPageCount {
+    /**
+     * CountQuery 이름
+     */
+    String[] value();
+}
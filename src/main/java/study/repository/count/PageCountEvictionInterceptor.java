@@ -0,0 +1,57 @@
+package study.repository.count;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리포지토리 프록시에 등록되어 @EvictPageCount 메서드가 끝나면 count 캐시를 비운다.
+ *
+ * @see study.config.PageCountConfig
+ */
+@Component
+@RequiredArgsConstructor
+public class PageCountEvictionInterceptor implements MethodInterceptor {
+    private final Map<Method, Optional<EvictPageCount>> annotations = new ConcurrentHashMap<>();
+
+    private final PageCountExecutor pageCountExecutor;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        EvictPageCount evict = annotations.computeIfAbsent(invocation.getMethod(),
+                        method -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, EvictPageCount.class)))
+                .orElse(null);
+
+        Object result = invocation.proceed();
+        if (evict == null) {
+            return result;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(evict);
+                }
+            });
+        } else {
+            evict(evict);
+        }
+        return result;
+    }
+
+    private void evict(EvictPageCount evict) {
+        for (String name : evict.value()) {
+            pageCountExecutor.evict(name);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package study.repository.count;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * count 전략을 적용하여 Page 를 만든다.
+ *
+ * content 는 항상 Slice 로 조회(size + 1 건)하므로 다음 페이지 존재 여부는 count 없이 알 수 있고,
+ * 마지막 페이지라면 전략과 관계없이 count 쿼리를 생략한다.
+ *
+ * CACHED 전략의 count 는 조건 수(cache-max-size)와 유지 시간(cache-ttl)이 제한된 캐시에 보관하고,
+ * 벌크 변경 메서드(@EvictPageCount)가 끝나면 해당 count 를 버린다.
+ */
+@Slf4j
+@Component
+public class PageCountExecutor {
+    private final PageCountProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<String, Long> cache;
+
+    private final LongAdder contentQueries = new LongAdder();
+    private final LongAdder contentNanos = new LongAdder();
+    private final LongAdder countQueries = new LongAdder();
+    private final LongAdder countNanos = new LongAdder();
+    private final LongAdder skippedCounts = new LongAdder();
+
+    public PageCountExecutor(PageCountProperties properties, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build();
+    }
+
+    /**
+     * @param requested 요청 단위로 지정한 전략, null 이면 설정값을 따른다.
+     */
+    public <T> Page<T> execute(CountQuery countQuery, CountStrategy requested, Pageable pageable,
+                               Function<Pageable, Slice<T>> contentQuery) {
+        long start = System.nanoTime();
+        Slice<T> slice = contentQuery.apply(pageable);
+        long contentElapsed = System.nanoTime() - start;
+        contentQueries.increment();
+        contentNanos.add(contentElapsed);
+
+        log.debug("page[{}] content={}us", countQuery.name(), contentElapsed / 1_000);
+
+        long total = total(countQuery, requested, pageable, slice.getNumberOfElements(), slice.hasNext());
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * content 를 이미 읽은 뒤 전체 개수만 구한다. (StreamingPageWriter 처럼 content 를 Slice 로 모으지 않는 경우)
+     *
+     * @param numberOfElements 읽은 content 수
+     * @param hasNext          size 보다 한 건 더 읽혔는지 여부
+     */
+    public long total(CountQuery countQuery, CountStrategy requested, Pageable pageable,
+                      int numberOfElements, boolean hasNext) {
+        CountStrategy strategy = resolve(countQuery, requested);
+
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long lowerBound = offset + numberOfElements + (hasNext ? 1 : 0);
+
+        // 마지막 페이지면 전체 개수가 확정된다.
+        if (!hasNext && (numberOfElements > 0 || offset == 0)) {
+            skippedCounts.increment();
+            return lowerBound;
+        }
+
+        long start = System.nanoTime();
+        long total = switch (strategy) {
+            case EXACT -> exactCount(countQuery);
+            case CACHED -> cachedCount(countQuery);
+            case ESTIMATED -> countQuery.table() == null ? cachedCount(countQuery) : estimatedCount(countQuery);
+            case NONE -> lowerBound;
+        };
+
+        log.debug("page[{}] strategy={} count={}us", countQuery.name(), strategy, (System.nanoTime() - start) / 1_000);
+
+        return Math.max(total, lowerBound);
+    }
+
+    public PageCountStats stats() {
+        return new PageCountStats(contentQueries.sum(), contentNanos.sum(),
+                countQueries.sum(), countNanos.sum(), skippedCounts.sum());
+    }
+
+    /**
+     * CACHED 전략으로 보관 중인 count 를 버린다. 대량 변경 후 호출한다.
+     * members 를 버리면 조건별 count(members[...])와 하위 이름(members.age)도 함께 버린다.
+     *
+     * @see EvictPageCount
+     */
+    public void evict(String name) {
+        cache.asMap().keySet().removeIf(key -> key.equals(name) || key.startsWith(name + "[") || key.startsWith(name + "."));
+    }
+
+    private CountStrategy resolve(CountQuery countQuery, CountStrategy requested) {
+        if (requested != null) {
+            return requested;
+        }
+        return properties.getStrategies().getOrDefault(countQuery.name(), properties.getDefaultStrategy());
+    }
+
+    private long exactCount(CountQuery countQuery) {
+        long start = System.nanoTime();
+        long total = countQuery.count().getAsLong();
+        countQueries.increment();
+        countNanos.add(System.nanoTime() - start);
+        return total;
+    }
+
+    private long cachedCount(CountQuery countQuery) {
+        return cache.get(countQuery.cacheKey(), key -> exactCount(countQuery));
+    }
+
+    /**
+     * H2 의 테이블 통계를 사용한다. 통계가 없으면 정확한 count 로 대체한다.
+     */
+    private long estimatedCount(CountQuery countQuery) {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(
+                    "select row_count_estimate from information_schema.tables where upper(table_name) = upper(?)",
+                    Long.class, countQuery.table());
+            if (estimate != null) {
+                return estimate;
+            }
+        } catch (DataAccessException e) {
+            log.debug("table statistics unavailable for {}: {}", countQuery.table(), e.getMessage());
+        }
+        return exactCount(countQuery);
+    }
+}
@@ -0,0 +1,36 @@
+package study.repository.count;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "study.page-count")
+@Getter
+@Setter
+public class PageCountProperties {
+    /**
+     * 별도 설정이 없는 count 쿼리에 적용할 전략
+     */
+    private CountStrategy defaultStrategy = CountStrategy.EXACT;
+
+    /**
+     * CACHED 전략의 유지 시간
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * CACHED 전략으로 보관할 최대 조건 수, 초과하면 오래 쓰이지 않은 조건부터 버린다.
+     */
+    private long cacheMaxSize = 10_000;
+
+    /**
+     * CountQuery 이름별 전략
+     */
+    private Map<String, CountStrategy> strategies = new HashMap<>();
+}
@@ -0,0 +1,11 @@
+package study.repository.count;
+
+/**
+ * Page 조회의 content / count 쿼리 누적 수행 시간
+ */
+public record PageCountStats(long contentQueries,
+                             long contentNanos,
+                             long countQueries,
+                             long countNanos,
+                             long skippedCounts) {
+}
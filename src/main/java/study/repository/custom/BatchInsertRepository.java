@@ -0,0 +1,17 @@
+package study.repository.custom;
+
+import java.util.stream.Stream;
+
+/**
+ * 대량 저장용 공용 Fragment
+ * MemberRepository, TeamRepository 가 함께 상속하여 사용한다.
+ */
+public interface BatchInsertRepository<T> {
+    /**
+     * JDBC 배치 크기 단위로 flush / clear 하며 저장한다.
+     * 호출한 트랜잭션의 영속성 컨텍스트도 초기화되므로, 기존에 조회한 엔티티는 준영속 상태가 된다.
+     *
+     * @return 저장한 엔티티 수
+     */
+    long saveAllBatched(Stream<T> entities);
+}
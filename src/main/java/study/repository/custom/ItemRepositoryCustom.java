@@ -0,0 +1,25 @@
+package study.repository.custom;
+
+import study.entity.Item;
+import study.repository.bulk.UpsertMode;
+import study.repository.bulk.UpsertResult;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+    /**
+     * upsertAll(items, UpsertMode.AUTO)
+     */
+    UpsertResult upsertAll(Collection<Item> items);
+
+    /**
+     * 식별자를 직접 할당하는 Item 을 대량으로 저장한다.
+     * save() 는 기존 Item 마다 SELECT 후 merge 하지만, 여기서는 엔티티를 거치지 않고 JDBC 배치로 처리한다.
+     *
+     * - 같은 id 가 여러 번 있으면 마지막 값만 반영한다.
+     * - createdDate 는 새 행에만, lastModifiedDate 는 모든 행에 호출 시점 하나의 시각으로 기록한다.
+     * - 전달한 Item 객체의 상태(createdDate 등)는 바뀌지 않는다.
+     * - 호출한 트랜잭션의 영속성 컨텍스트에 있던 해당 Item 은 준영속 상태가 된다.
+     */
+    UpsertResult upsertAll(Collection<Item> items, UpsertMode mode);
+}
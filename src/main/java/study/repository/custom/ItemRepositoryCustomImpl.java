@@ -0,0 +1,165 @@
+package study.repository.custom;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.auditing.AuditingClock;
+import study.entity.Item;
+import study.repository.bulk.UpsertMode;
+import study.repository.bulk.UpsertResult;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 커스텀 구현은 리포지토리 기본 트랜잭션이 적용되지 않고, upsertAll(items) 는 자기 호출이므로 클래스에 선언한다.
+ */
+@Transactional
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private static final String INSERT =
+            "insert into item (id, name, price, created_date, last_modified_date) values (?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "update item set name = ?, price = ?, last_modified_date = ? where id = ?";
+    private static final String MERGE =
+            "merge into item t using (values (cast(? as varchar(255)), cast(? as varchar(255)), cast(? as integer), " +
+                    "cast(? as timestamp(6)))) s (id, name, price, ts) on t.id = s.id " +
+                    "when matched then update set name = s.name, price = s.price, last_modified_date = s.ts " +
+                    "when not matched then insert (id, name, price, created_date, last_modified_date) " +
+                    "values (s.id, s.name, s.price, s.ts, s.ts)";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int batchSize;
+
+    private volatile Boolean mergeSupported;
+
+    public ItemRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1000}") int batchSize) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public UpsertResult upsertAll(Collection<Item> items) {
+        return upsertAll(items, UpsertMode.AUTO);
+    }
+
+    @Override
+    public UpsertResult upsertAll(Collection<Item> items, UpsertMode mode) {
+        long start = System.nanoTime();
+
+        Map<String, Item> byId = new LinkedHashMap<>();
+        for (Item item : items) {
+            byId.put(item.getId(), item);
+        }
+        if (byId.isEmpty()) {
+            return new UpsertResult(0, 0, 0, Duration.ZERO);
+        }
+
+        // 아직 flush 되지 않은 Item 변경이 JDBC 결과를 덮어쓰지 않도록 먼저 반영한다.
+        entityManager.flush();
+
+        // 엔티티 감사(@LastModifiedDate)와 같은 트랜잭션 시각을 쓴다.
+        Timestamp now = Timestamp.valueOf(AuditingClock.now());
+        UpsertResult result;
+        if (mode == UpsertMode.MERGE || (mode == UpsertMode.AUTO && isMergeSupported())) {
+            List<Object[]> rows = new ArrayList<>(byId.size());
+            byId.values().forEach(item -> rows.add(new Object[]{item.getId(), item.getName(), item.getPrice(), now}));
+            batchUpdate(MERGE, rows);
+
+            result = new UpsertResult(0, 0, rows.size(), Duration.ofNanos(System.nanoTime() - start));
+        } else {
+            Set<String> existing = findExistingIds(new ArrayList<>(byId.keySet()));
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Item item : byId.values()) {
+                if (existing.contains(item.getId())) {
+                    updates.add(new Object[]{item.getName(), item.getPrice(), now, item.getId()});
+                } else {
+                    inserts.add(new Object[]{item.getId(), item.getName(), item.getPrice(), now, now});
+                }
+            }
+            batchUpdate(INSERT, inserts);
+            batchUpdate(UPDATE, updates);
+
+            result = new UpsertResult(inserts.size(), updates.size(), 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        detach(byId.keySet());
+        return result;
+    }
+
+    /**
+     * batchSize 개씩 IN 절로 조회한다.
+     */
+    private Set<String> findExistingIds(List<String> ids) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            existing.addAll(namedJdbcTemplate.queryForList("select id from item where id in (:ids)",
+                    new MapSqlParameterSource("ids", chunk), String.class));
+        }
+        return existing;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    /**
+     * JDBC 로 변경했으므로 영속성 컨텍스트에 남은 Item 은 이전 상태다.
+     */
+    private void detach(Set<String> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        if (persistenceContext.getNumberOfManagedEntities() == 0) {
+            return;
+        }
+
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Item.class);
+        for (String id : ids) {
+            Object managed = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                entityManager.detach(managed);
+            }
+        }
+    }
+
+    /**
+     * USING (VALUES ...) 형태의 표준 MERGE 를 지원하는 데이터베이스만 MERGE 를 사용한다.
+     */
+    private boolean isMergeSupported() {
+        if (mergeSupported == null) {
+            mergeSupported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return switch (metaData.getDatabaseProductName()) {
+                    case "H2" -> true;
+                    case "PostgreSQL" -> metaData.getDatabaseMajorVersion() >= 15;
+                    default -> false;
+                };
+            });
+        }
+        return mergeSupported;
+    }
+}
@@ -1,9 +1,96 @@
 package study.repository.custom;
 
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import study.dto.MemberDTO;
 import study.entity.Member;
+import study.repository.bulk.BulkUpdateResult;
+import study.repository.count.EvictPageCount;
+import study.repository.retry.RetryOnConflict;
+import study.repository.specification.ShapedSpecification;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    /**
+     * 엔티티를 로딩하지 않고 프로젝션에 필요한 컬럼만 조회한다.
+     * findProjectionsByUsername 과 달리 Open Projection 은 예외가 발생한다.
+     *
+     * @see study.repository.projection.ProjectionCompiler
+     */
+    <T> List<T> findProjectedByUsername(String username, Class<T> type);
+
+    /**
+     * findSliceBy 와 같은 페이지를 엔티티 대신 프로젝션으로 조회한다.
+     * 연관 속성(teamName 등)은 left join 으로 같은 쿼리에서 채우므로 엔티티 로딩 / 추가 쿼리가 없다.
+     * PageCountExecutor 와 함께 사용할 수 있도록 size + 1 건을 읽어 다음 페이지 여부만 판단한다.
+     *
+     * @see study.repository.projection.ProjectionCompiler
+     */
+    <T> Slice<T> findProjectedSliceBy(Pageable pageable, Class<T> type);
+
+    /**
+     * findAll(Specification) 과 같은 결과를 Criteria 대신 shape 별로 캐시된 JPQL 로 조회한다.
+     *
+     * @see study.repository.specification.SpecificationCompiler
+     */
+    List<Member> findAllCompiled(ShapedSpecification<Member> specification);
+
+    /**
+     * findAll(Example) 과 같은 결과를 구조별로 캐시된 JPQL 로 조회한다.
+     *
+     * @see study.repository.example.ExampleQueryCompiler
+     */
+    List<Member> findAllCompiled(Example<Member> example);
+
+    /**
+     * 여러 probe 를 구조별로 한 번에 조회한다. 반환 목록은 examples 와 같은 순서다.
+     */
+    List<List<Member>> findAllCompiled(List<Example<Member>> examples);
+
+    /**
+     * 전체 회원을 List 로 적재하지 않고 커서로 읽는다.
+     * 트랜잭션 안에서 사용하고, 사용 후 반드시 close 해야 한다. (try-with-resources)
+     *
+     * @param fetchSize JDBC 로 한 번에 가져올 행 수, 이 단위로 영속성 컨텍스트를 비운다.
+     */
+    Stream<Member> streamAll(int fetchSize);
+
+    /**
+     * streamAll 을 읽기 전용 트랜잭션 안에서 끝까지 소비한다.
+     */
+    void forEachMember(int fetchSize, Consumer<Member> action);
+
+    /**
+     * 엔티티 없이 DTO(팀 이름 포함)를 offset 부터 limit 건까지 커서로 읽는다.
+     * 영속성 컨텍스트에 아무것도 쌓이지 않으므로 clear 가 필요 없다. 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+     *
+     * @param sort Member 속성 기준 정렬
+     * @see study.controller.StreamingPageWriter
+     */
+    Stream<MemberDTO> streamMemberDto(long offset, int limit, Sort sort);
+
+    /**
+     * bulkAgePlus 의 구간 분할 버전
+     * 기본 키 구간마다 커밋하여 행 잠금 유지 시간을 줄이고, 변경된 회원만 캐시에서 제거한다.
+     *
+     * @see study.repository.bulk.ChunkedBulkUpdater
+     */
+    @EvictPageCount("members")
+    BulkUpdateResult bulkAgePlusChunked(int age, int chunkSize, int parallelism);
+
+    /**
+     * findLockByUsername(PESSIMISTIC_WRITE) 으로 행을 잠그고 변경하는 대신
+     * 잠금 없이 읽고 @Version 으로 동시 변경을 감지한다. 충돌하면 새 트랜잭션에서 다시 읽어 재시도한다.
+     *
+     * @see study.repository.retry.RetryOnConflictInterceptor
+     */
+    @RetryOnConflict
+    Member addAge(Long memberId, int delta);
 }
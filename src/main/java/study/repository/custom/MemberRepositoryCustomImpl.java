@@ -1,10 +1,36 @@
 package study.repository.custom;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.dto.MemberDTO;
 import study.entity.Member;
+import study.repository.bulk.BulkUpdateResult;
+import study.repository.bulk.ChunkedBulkUpdater;
+import study.repository.bulk.ChunkedUpdate;
+import study.repository.example.ExampleQueryExecutor;
+import study.repository.projection.CompiledProjection;
+import study.repository.projection.ProjectionCompiler;
+import study.repository.specification.CompiledSpecification;
+import study.repository.specification.ShapedSpecification;
+import study.repository.specification.SpecificationCompiler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * 클래스명 마지막에 Impl postfix 를 붙여주는 규칙은 지켜야 한다.
@@ -14,10 +40,130 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
     private final EntityManager entityManager;
+    private final ProjectionCompiler projectionCompiler;
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+    private final SpecificationCompiler specificationCompiler;
+    private final ExampleQueryExecutor exampleQueryExecutor;
 
     @Override
     public List<Member> findMemberCustom() {
         return entityManager.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public <T> List<T> findProjectedByUsername(String username, Class<T> type) {
+        CompiledProjection<T> projection = projectionCompiler.compile(Member.class, type);
+
+        return entityManager.createQuery(projection.jpql("Member", "m.username = :username"), projection.resultType())
+                .setParameter("username", username)
+                .getResultList()
+                .stream()
+                .map(projection.mapper())
+                .toList();
+    }
+
+    @Override
+    public <T> Slice<T> findProjectedSliceBy(Pageable pageable, Class<T> type) {
+        CompiledProjection<T> projection = projectionCompiler.compile(Member.class, type);
+
+        TypedQuery<?> query = entityManager.createQuery(
+                QueryUtils.applySorting(projection.jpql("Member"), pageable.getSort(), "m"), projection.resultType());
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                    .setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<T> content = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            content.add(projection.mapper().apply(row));
+        }
+
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(content.size() - 1);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<Member> findAllCompiled(ShapedSpecification<Member> specification) {
+        CompiledSpecification compiled = specificationCompiler.compile("Member", specification);
+
+        TypedQuery<Member> query = entityManager.createQuery(compiled.jpql(), Member.class);
+        List<Object> values = specification.getValues();
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter(i + 1, values.get(i));
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Member> findAllCompiled(Example<Member> example) {
+        return exampleQueryExecutor.findAll(example);
+    }
+
+    @Override
+    public List<List<Member>> findAllCompiled(List<Example<Member>> examples) {
+        return exampleQueryExecutor.findAll(examples);
+    }
+
+    /**
+     * 팀은 fetch join 으로 함께 읽어 clear 이후에도 team.name 에 접근할 수 있게 한다.
+     * 읽기 전용 힌트로 스냅샷(변경 감지용 복사본)을 만들지 않는다.
+     * 전체 행을 2차 캐시에 넣으면 자주 쓰는 엔티티가 밀려나므로 캐시를 읽지도 쓰지도 않는다. (CacheMode.IGNORE)
+     */
+    @Override
+    public Stream<Member> streamAll(int fetchSize) {
+        AtomicLong read = new AtomicLong();
+
+        return entityManager.createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .peek(member -> {
+                    if (read.incrementAndGet() % fetchSize == 0) {
+                        entityManager.clear();
+                    }
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachMember(int fetchSize, Consumer<Member> action) {
+        try (Stream<Member> members = streamAll(fetchSize)) {
+            members.forEach(action);
+        }
+    }
+
+    @Override
+    public Stream<MemberDTO> streamMemberDto(long offset, int limit, Sort sort) {
+        String jpql = QueryUtils.applySorting("select new study.dto.MemberDTO(m.id, m.username, t.name) " +
+                "from Member m left join m.team t", sort, "m");
+
+        return entityManager.createQuery(jpql, MemberDTO.class)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Math.min(limit, 500))
+                .getResultStream();
+    }
+
+    @Override
+    public BulkUpdateResult bulkAgePlusChunked(int age, int chunkSize, int parallelism) {
+        return chunkedBulkUpdater.execute(new ChunkedUpdate(Member.class,
+                "age = age + 1", "age >= :age", Map.of("age", age), chunkSize, parallelism));
+    }
+
+    @Override
+    @Transactional
+    public Member addAge(Long memberId, int delta) {
+        Member member = entityManager.find(Member.class, memberId);
+        if (member == null) {
+            throw new EntityNotFoundException("member " + memberId);
+        }
+
+        member.setAge(member.getAge() + delta);
+        return member;
+    }
 }
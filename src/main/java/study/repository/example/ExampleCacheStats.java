@@ -0,0 +1,8 @@
+package study.repository.example;
+
+public record ExampleCacheStats(long hits, long misses, int size) {
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,279 @@
+package study.repository.example;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Example(probe + ExampleMatcher)을 정규화된 JPQL 과 바인딩 값으로 나눈다.
+ *
+ * - 값이 아니라 "어떤 속성에 어떤 비교를 하는지"가 같으면 같은 ExampleStatement 를 재사용한다.
+ * - 조건은 인덱스를 탈 수 있는 것부터 정렬한다. (유일 인덱스 동등 비교 > 인덱스 동등 비교 > 인덱스 접두 LIKE > 나머지)
+ *   속성 선언 순서와 관계없이 같은 조건이면 같은 문장이 되고, 조건을 순서대로 평가하는 DB 에서는 걸러지는 행이 먼저 걸러진다.
+ *
+ * 규칙은 Spring Data JPA 의 QueryByExamplePredicateBuilder 와 같다.
+ * null 이 아닌 단일 속성만 조건이 되고, 연관 엔티티는 내부 조인, 컬렉션은 무시한다.
+ * 값은 getter 로 읽고 getter 가 없을 때만 필드를 읽으므로, 초기화되지 않은 프록시(getReference)도 probe 로 쓸 수 있다.
+ * StringMatcher.REGEX 는 JPQL 로 표현할 수 없어 지원하지 않는다.
+ */
+@Slf4j
+@Component
+public class ExampleQueryCompiler {
+    private static final int UNIQUE_EQUALS = 0;
+    private static final int INDEXED_EQUALS = 1;
+    private static final int INDEXED_PREFIX = 2;
+    private static final int EQUALS = 3;
+    private static final int SCAN = 4;
+    private static final Indexes NO_INDEXES = new Indexes(Set.of(), Set.of());
+
+    private final Metamodel metamodel;
+    private final SessionFactoryImplementor sessionFactory;
+    private final DataSource dataSource;
+
+    private final Map<String, ExampleStatement> statements = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Indexes> indexes = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExampleQueryCompiler(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.metamodel = entityManagerFactory.getMetamodel();
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.dataSource = dataSource;
+    }
+
+    NormalizedExample normalize(Example<?> example) {
+        ExampleMatcher matcher = example.getMatcher();
+        EntityType<?> entityType = metamodel.entity(example.getProbeType());
+
+        Collector collector = new Collector(matcher);
+        collector.collect(entityType, example.getProbe(), "", "m");
+
+        List<Term> terms = collector.terms;
+        terms.sort(Comparator.comparingInt((Term term) -> term.term().rank())
+                .thenComparing(term -> term.term().path()));
+
+        StringBuilder key = new StringBuilder(entityType.getName()).append(matcher.isAnyMatching() ? "|any" : "|all");
+        terms.forEach(term -> key.append('|').append(term.term().signature()));
+        // 속성이 모두 null 인 연관 엔티티는 조건 없이 내부 조인만 추가하므로(팀이 있는 회원만) 조인도 키에 포함한다.
+        collector.joins.forEach((path, alias) -> key.append("|join ").append(path).append(' ').append(alias));
+
+        ExampleStatement statement = statements.get(key.toString());
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = statements.computeIfAbsent(key.toString(), k -> new ExampleStatement(entityType.getName(),
+                    collector.joins.entrySet().stream().map(join -> join.getKey() + " " + join.getValue()).toList(),
+                    terms.stream().map(Term::term).toList(),
+                    matcher.isAnyMatching()));
+        }
+
+        List<Object> values = new ArrayList<>(terms.size());
+        terms.stream().filter(term -> term.term().hasValue()).forEach(term -> values.add(term.value()));
+        return new NormalizedExample(statement, values);
+    }
+
+    public ExampleCacheStats stats() {
+        return new ExampleCacheStats(hits.sum(), misses.sum(), statements.size());
+    }
+
+    private int rank(Class<?> entityType, String attribute, ExampleTerm.Operator operator, boolean ignoreCase) {
+        // lower() 를 씌우면 인덱스를 사용할 수 없다.
+        if (ignoreCase || operator == ExampleTerm.Operator.ENDING || operator == ExampleTerm.Operator.CONTAINING) {
+            return SCAN;
+        }
+
+        // 메타데이터를 읽지 못하면 캐시하지 않고 다음 호출에서 다시 읽는다.
+        Indexes table = Optional.ofNullable(indexes.computeIfAbsent(entityType, this::loadIndexes)).orElse(NO_INDEXES);
+        if (operator == ExampleTerm.Operator.STARTING) {
+            return table.leading().contains(attribute) ? INDEXED_PREFIX : SCAN;
+        }
+        if (table.unique().contains(attribute)) {
+            return UNIQUE_EQUALS;
+        }
+        return table.leading().contains(attribute) ? INDEXED_EQUALS : EQUALS;
+    }
+
+    /**
+     * 테이블의 인덱스 선두 컬럼을 속성 이름으로 바꿔 둔다. 스키마는 기동 시점에 만들어지므로 엔티티별로 한 번만 조회한다.
+     * 트랜잭션 안에서는 그 트랜잭션의 커넥션으로 조회하여 커넥션을 하나 더 잡지 않는다.
+     *
+     * @return 메타데이터를 읽지 못하면 null
+     */
+    private Indexes loadIndexes(Class<?> entityType) {
+        if (!(sessionFactory.getMappingMetamodel().findEntityDescriptor(entityType)
+                instanceof AbstractEntityPersister persister)) {
+            return NO_INDEXES;
+        }
+
+        Map<String, String> attributeByColumn = new LinkedHashMap<>();
+        for (String column : persister.getIdentifierColumnNames()) {
+            attributeByColumn.put(column.toUpperCase(Locale.ROOT), persister.getIdentifierPropertyName());
+        }
+        for (String property : persister.getPropertyNames()) {
+            String[] columns = persister.getPropertyColumnNames(property);
+            if (columns.length == 1) {
+                attributeByColumn.put(columns[0].toUpperCase(Locale.ROOT), property);
+            }
+        }
+
+        Set<String> leading = new HashSet<>();
+        Set<String> unique = new HashSet<>();
+        Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+        Map<String, Boolean> uniqueByIndex = new LinkedHashMap<>();
+
+        Connection connection = null;
+        try {
+            connection = DataSourceUtils.doGetConnection(dataSource);
+            try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null,
+                    persister.getTableName().toUpperCase(Locale.ROOT), false, true)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index == null || column == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                        continue;
+                    }
+                    columnsByIndex.computeIfAbsent(index, k -> new ArrayList<>()).add(column.toUpperCase(Locale.ROOT));
+                    uniqueByIndex.put(index, !rs.getBoolean("NON_UNIQUE"));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("index metadata unavailable for {}: {}", entityType.getSimpleName(), e.getMessage());
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        columnsByIndex.forEach((index, columns) -> {
+            Optional.ofNullable(attributeByColumn.get(columns.get(0))).ifPresent(leading::add);
+            if (uniqueByIndex.get(index) && columns.size() == 1) {
+                Optional.ofNullable(attributeByColumn.get(columns.get(0))).ifPresent(unique::add);
+            }
+        });
+
+        log.debug("indexed attributes of {}: leading={} unique={}", entityType.getSimpleName(), leading, unique);
+        return new Indexes(leading, unique);
+    }
+
+    private record Indexes(Set<String> leading, Set<String> unique) {
+    }
+
+    private record Term(ExampleTerm term, Object value) {
+    }
+
+    private class Collector {
+        private final ExampleMatcher matcher;
+        private final List<Term> terms = new ArrayList<>();
+        private final Map<String, String> joins = new LinkedHashMap<>();
+
+        Collector(ExampleMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        void collect(ManagedType<?> type, Object probe, String path, String alias) {
+            BeanWrapper accessor = new DirectFieldAccessFallbackBeanWrapper(probe);
+
+            // 별칭 번호가 매번 같도록 이름순으로 순회한다.
+            List<SingularAttribute<?, ?>> attributes = type.getSingularAttributes().stream()
+                    .sorted(Comparator.comparing(Attribute::getName))
+                    .toList();
+
+            for (SingularAttribute<?, ?> attribute : attributes) {
+                String name = attribute.getName();
+                String currentPath = path.isEmpty() ? name : path + "." + name;
+                if (matcher.isIgnoredPath(currentPath)) {
+                    continue;
+                }
+
+                ExampleMatcher.PropertySpecifier specifier = matcher.getPropertySpecifiers().getForPath(currentPath);
+                Object value = accessor.getPropertyValue(name);
+                if (specifier != null) {
+                    value = specifier.transformValue(Optional.ofNullable(value)).orElse(null);
+                }
+
+                String expression = alias + "." + name;
+                Class<?> entityType = type.getJavaType();
+
+                if (value == null) {
+                    if (matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                        add(new ExampleTerm(currentPath, expression, ExampleTerm.Operator.IS_NULL, false,
+                                rank(entityType, name, ExampleTerm.Operator.EQUALS, false)), null);
+                    }
+                    continue;
+                }
+
+                if (attribute.isAssociation()) {
+                    String joinAlias = joins.computeIfAbsent(expression, k -> "j" + (joins.size() + 1));
+                    collect(metamodel.managedType(attribute.getJavaType()), value, currentPath, joinAlias);
+                    continue;
+                }
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.EMBEDDED) {
+                    collect(metamodel.managedType(attribute.getJavaType()), value, currentPath, expression);
+                    continue;
+                }
+
+                if (value instanceof String text) {
+                    addString(entityType, name, currentPath, expression, text, specifier);
+                } else {
+                    add(new ExampleTerm(currentPath, expression, ExampleTerm.Operator.EQUALS, false,
+                            rank(entityType, name, ExampleTerm.Operator.EQUALS, false)), value);
+                }
+            }
+        }
+
+        private void addString(Class<?> entityType, String name, String path, String expression, String value,
+                               ExampleMatcher.PropertySpecifier specifier) {
+            ExampleMatcher.StringMatcher stringMatcher = specifier != null && specifier.getStringMatcher() != null
+                    ? specifier.getStringMatcher()
+                    : matcher.getDefaultStringMatcher();
+            boolean ignoreCase = specifier != null && specifier.getIgnoreCase() != null
+                    ? specifier.getIgnoreCase()
+                    : matcher.isIgnoreCaseEnabled();
+
+            ExampleTerm.Operator operator = switch (stringMatcher) {
+                case DEFAULT, EXACT -> ExampleTerm.Operator.EQUALS;
+                case STARTING -> ExampleTerm.Operator.STARTING;
+                case ENDING -> ExampleTerm.Operator.ENDING;
+                case CONTAINING -> ExampleTerm.Operator.CONTAINING;
+                case REGEX -> throw new IllegalArgumentException("StringMatcher.REGEX 는 지원하지 않습니다: " + path);
+            };
+
+            add(new ExampleTerm(path, expression, operator, ignoreCase, rank(entityType, name, operator, ignoreCase)),
+                    ignoreCase ? value.toLowerCase(Locale.ROOT) : value);
+        }
+
+        private void add(ExampleTerm term, Object value) {
+            terms.add(new Term(term, value));
+        }
+    }
+}
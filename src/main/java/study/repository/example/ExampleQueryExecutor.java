@@ -0,0 +1,82 @@
+package study.repository.example;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Example;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ExampleQueryCompiler 가 정규화한 Example 을 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExampleQueryExecutor {
+    /**
+     * 쿼리 하나에 OR 로 묶는 최대 probe 수
+     */
+    private static final int MAX_PROBES_PER_QUERY = 100;
+
+    private final EntityManager entityManager;
+    private final ExampleQueryCompiler exampleQueryCompiler;
+
+    public <T> List<T> findAll(Example<T> example) {
+        NormalizedExample normalized = exampleQueryCompiler.normalize(example);
+
+        TypedQuery<T> query = entityManager.createQuery(normalized.statement().jpql(), example.getProbeType());
+        bind(query, normalized.parameters(), 0);
+        return query.getResultList();
+    }
+
+    /**
+     * 같은 구조의 probe 들을 OR 로 묶어 한 번에 조회하고, 결과를 probe 별로 나눠 돌려준다.
+     * 구조가 다른 probe 는 구조별로 따로 조회한다.
+     *
+     * @return examples 와 같은 순서의 결과 목록
+     */
+    public <T> List<List<T>> findAll(List<Example<T>> examples) {
+        Map<ExampleStatement, List<Integer>> groups = new LinkedHashMap<>();
+        List<NormalizedExample> normalized = new ArrayList<>(examples.size());
+        List<List<T>> results = new ArrayList<>(examples.size());
+
+        for (int i = 0; i < examples.size(); i++) {
+            NormalizedExample example = exampleQueryCompiler.normalize(examples.get(i));
+            normalized.add(example);
+            results.add(new ArrayList<>());
+            groups.computeIfAbsent(example.statement(), k -> new ArrayList<>()).add(i);
+        }
+
+        groups.forEach((statement, indexes) -> {
+            for (int from = 0; from < indexes.size(); from += MAX_PROBES_PER_QUERY) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + MAX_PROBES_PER_QUERY, indexes.size()));
+                Class<T> type = examples.get(chunk.get(0)).getProbeType();
+
+                TypedQuery<T> query = entityManager.createQuery(statement.batchJpql(chunk.size()), type);
+                for (int i = 0; i < chunk.size(); i++) {
+                    bind(query, normalized.get(chunk.get(i)).parameters(), i * statement.parameterCount());
+                }
+
+                for (T entity : query.getResultList()) {
+                    for (int index : chunk) {
+                        if (statement.matches(entity, normalized.get(index).values())) {
+                            results.get(index).add(entity);
+                        }
+                    }
+                }
+            }
+        });
+
+        return results;
+    }
+
+    private static void bind(TypedQuery<?> query, Object[] parameters, int offset) {
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(offset + i + 1, parameters[i]);
+        }
+    }
+}
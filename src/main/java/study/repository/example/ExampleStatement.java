@@ -0,0 +1,76 @@
+package study.repository.example;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 구조의 Example 이 공유하는 JPQL
+ * 바인딩 값은 NormalizedExample 이 조건 순서대로 들고 있다.
+ *
+ * @param joins 연관 엔티티 별칭 (ex: "m.team j1"), Example 과 같이 내부 조인만 사용한다.
+ */
+record ExampleStatement(String entityName, List<String> joins, List<ExampleTerm> terms, boolean any) {
+    String jpql() {
+        return "select m" + from(false) + where(1);
+    }
+
+    /**
+     * probe 여러 개를 OR 로 묶어 한 번에 조회한다.
+     * 결과를 probe 별로 나눌 때 연관 엔티티를 읽으므로 fetch join 한다.
+     */
+    String batchJpql(int probes) {
+        int parameters = parameterCount();
+        StringBuilder jpql = new StringBuilder("select distinct m").append(from(true)).append(" where ");
+        for (int i = 0; i < probes; i++) {
+            if (i > 0) {
+                jpql.append(" or ");
+            }
+            jpql.append('(').append(predicate(i * parameters + 1)).append(')');
+        }
+        return jpql.toString();
+    }
+
+    int parameterCount() {
+        return (int) terms.stream().filter(ExampleTerm::hasValue).count();
+    }
+
+    boolean matches(Object entity, List<Object> values) {
+        int index = 0;
+        for (ExampleTerm term : terms) {
+            boolean matched = term.matches(entity, term.hasValue() ? values.get(index++) : null);
+            if (matched == any) {
+                return matched;
+            }
+        }
+        return !any;
+    }
+
+    private String from(boolean fetch) {
+        return " from " + entityName + " m" + joins.stream()
+                .map(join -> (fetch ? " join fetch " : " join ") + join)
+                .collect(Collectors.joining());
+    }
+
+    private String where(int firstPosition) {
+        return terms.isEmpty() ? "" : " where " + predicate(firstPosition);
+    }
+
+    private String predicate(int firstPosition) {
+        if (terms.isEmpty()) {
+            return "1 = 1";
+        }
+
+        StringBuilder predicate = new StringBuilder();
+        int position = firstPosition;
+        for (ExampleTerm term : terms) {
+            if (!predicate.isEmpty()) {
+                predicate.append(any ? " or " : " and ");
+            }
+            predicate.append(term.jpql(position));
+            if (term.hasValue()) {
+                position++;
+            }
+        }
+        return predicate.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package study.repository.example;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Example 에서 뽑아낸 조건 하나
+ *
+ * @param path       probe 기준 속성 경로 (ex: team.name)
+ * @param expression JPQL 식 (ex: j1.name)
+ * @param rank       작을수록 인덱스를 잘 타는 조건, 정렬 기준
+ */
+record ExampleTerm(String path, String expression, Operator operator, boolean ignoreCase, int rank) {
+    /**
+     * HQL 문자열 리터럴에서 \ 는 이스케이프 문자로 해석되므로 다른 문자를 쓴다.
+     */
+    private static final char ESCAPE = '!';
+
+    enum Operator {
+        EQUALS, IS_NULL, STARTING, ENDING, CONTAINING;
+
+        boolean isLike() {
+            return this == STARTING || this == ENDING || this == CONTAINING;
+        }
+    }
+
+    boolean hasValue() {
+        return operator != Operator.IS_NULL;
+    }
+
+    String signature() {
+        return path + ":" + operator + (ignoreCase ? ":ic" : "");
+    }
+
+    /**
+     * @param position 바인딩 위치, IS_NULL 이면 사용하지 않는다.
+     */
+    String jpql(int position) {
+        String left = ignoreCase ? "lower(" + expression + ")" : expression;
+        return switch (operator) {
+            case IS_NULL -> expression + " is null";
+            case EQUALS -> left + " = ?" + position;
+            default -> left + " like ?" + position + " escape '" + ESCAPE + "'";
+        };
+    }
+
+    Object bind(Object value) {
+        if (!operator.isLike()) {
+            return value;
+        }
+
+        String escaped = value.toString()
+                .replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE)
+                .replace("%", ESCAPE + "%")
+                .replace("_", ESCAPE + "_");
+        return switch (operator) {
+            case STARTING -> escaped + "%";
+            case ENDING -> "%" + escaped;
+            default -> "%" + escaped + "%";
+        };
+    }
+
+    /**
+     * 묶음 조회 결과를 probe 별로 나눌 때 사용한다. 연관 엔티티 프록시도 읽을 수 있도록 getter 로 접근한다.
+     */
+    boolean matches(Object entity, Object value) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        wrapper.setAutoGrowNestedPaths(false);
+        Object actual = path.contains(".") && wrapper.getPropertyValue(path.substring(0, path.lastIndexOf('.'))) == null
+                ? null
+                : wrapper.getPropertyValue(path);
+
+        if (operator == Operator.IS_NULL) {
+            return actual == null;
+        }
+        if (actual == null) {
+            return false;
+        }
+        if (!operator.isLike() && !ignoreCase) {
+            return Objects.equals(actual, value);
+        }
+
+        String text = ignoreCase ? actual.toString().toLowerCase(Locale.ROOT) : actual.toString();
+        String expected = value.toString();
+        return switch (operator) {
+            case STARTING -> text.startsWith(expected);
+            case ENDING -> text.endsWith(expected);
+            case CONTAINING -> text.contains(expected);
+            default -> text.equals(expected);
+        };
+    }
+}
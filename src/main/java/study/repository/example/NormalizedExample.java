@@ -0,0 +1,20 @@
+package study.repository.example;
+
+import java.util.List;
+
+/**
+ * @param values statement 조건 순서대로 정렬된 바인딩 값 (IS_NULL 조건은 값이 없다.)
+ */
+record NormalizedExample(ExampleStatement statement, List<Object> values) {
+    Object[] parameters() {
+        Object[] parameters = new Object[values.size()];
+        int index = 0;
+        for (ExampleTerm term : statement.terms()) {
+            if (term.hasValue()) {
+                parameters[index] = term.bind(values.get(index));
+                index++;
+            }
+        }
+        return parameters;
+    }
+}
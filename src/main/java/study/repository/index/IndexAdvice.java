@@ -0,0 +1,26 @@
+package study.repository.index;
+
+import java.util.List;
+
+/**
+ * @param columns  제안하는 인덱스 컬럼 (앞에서부터 순서대로)
+ * @param equality columns 중 동등 비교 컬럼 수
+ * @param prefix   columns 중 기존 인덱스가 반드시 앞에 가져야 하는 컬럼 수 (동등 비교 + 범위/정렬 컬럼 하나)
+ * @param index    prefix 를 만족하는 기존 인덱스, 없으면 null
+ */
+public record IndexAdvice(String source, String table, List<String> columns, int equality, int prefix, String index) {
+    public boolean isCovered() {
+        return index != null;
+    }
+
+    public String createSql() {
+        return "create index if not exists idx_" + table + "_" + String.join("_", columns)
+                + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    @Override
+    public String toString() {
+        return source + " -> " + table + "(" + String.join(", ", columns) + ") "
+                + (isCovered() ? "covered by " + index : "MISSING");
+    }
+}
@@ -0,0 +1,323 @@
+package study.repository.index;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 쿼리가 사용하는 컬럼을 모아 필요한 인덱스를 제안하고, 기존 인덱스로 충분한지 확인한다.
+ *
+ * 검사 대상
+ * - 쿼리 메서드 이름 (PartTree)
+ * - @Query / @NamedQuery JPQL 의 where, order by 절 (루트 별칭 기준 단순 비교만)
+ * - mappedBy 컬렉션 초기화 시 사용하는 외래 키 (ex: Team.members -> member.team_id)
+ *
+ * 제안 컬럼 순서는 동등 비교 컬럼, 그 다음 범위 비교 또는 정렬 컬럼이다.
+ * 네이티브 쿼리와 Pageable 의 동적 정렬은 검사하지 않는다.
+ */
+@Slf4j
+@Component
+public class IndexAdvisor {
+    private static final Set<Part.Type> EQUALITY = Set.of(Part.Type.SIMPLE_PROPERTY, Part.Type.IN,
+            Part.Type.IS_NULL, Part.Type.TRUE, Part.Type.FALSE);
+    private static final Set<Part.Type> RANGE = Set.of(Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL,
+            Part.Type.LESS_THAN, Part.Type.LESS_THAN_EQUAL, Part.Type.BETWEEN, Part.Type.AFTER, Part.Type.BEFORE,
+            Part.Type.STARTING_WITH);
+
+    private static final Pattern FROM = Pattern.compile("from\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final ApplicationContext applicationContext;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndexAdvisor(ApplicationContext applicationContext, EntityManagerFactory entityManagerFactory,
+                        JdbcTemplate jdbcTemplate) {
+        this.applicationContext = applicationContext;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<IndexAdvice> advise() {
+        // 테이블별 인덱스는 검사 한 번에 한 번만 조회한다.
+        Map<String, List<List<String>>> indexes = new LinkedHashMap<>();
+
+        return shapes().stream()
+                .filter(shape -> !shape.isEmpty())
+                .map(shape -> advise(shape, indexes))
+                .filter(advice -> advice != null && !advice.columns().isEmpty())
+                .toList();
+    }
+
+    /**
+     * 제안 컬럼으로 조건을 만들어 H2 EXPLAIN 결과를 돌려준다.
+     */
+    public String explain(IndexAdvice advice) {
+        StringBuilder sql = new StringBuilder("explain select * from ").append(advice.table());
+        List<Object> parameters = new ArrayList<>();
+        Map<String, Integer> columnTypes = columnTypes(advice.table());
+
+        for (int i = 0; i < advice.prefix(); i++) {
+            String column = advice.columns().get(i);
+            sql.append(i == 0 ? " where " : " and ").append(column).append(i < advice.equality() ? " = ?" : " > ?");
+            parameters.add(sample(columnTypes.get(column.toUpperCase(Locale.ROOT))));
+        }
+
+        return jdbcTemplate.queryForObject(sql.toString(), String.class, parameters.toArray());
+    }
+
+    /**
+     * H2 는 사용한 인덱스를 실행 계획 주석에 남긴다. ex) PUBLIC.IDX_MEMBER_USERNAME_AGE: USERNAME = ?1
+     */
+    public boolean usesIndex(IndexAdvice advice) {
+        return advice.isCovered() && explain(advice).toUpperCase(Locale.ROOT).contains(advice.index());
+    }
+
+    private IndexAdvice advise(QueryShape shape, Map<String, List<List<String>>> indexCache) {
+        if (!(sessionFactory.getMappingMetamodel().findEntityDescriptor(shape.domainType())
+                instanceof AbstractEntityPersister persister)) {
+            return null;
+        }
+
+        String table = persister.getTableName().toLowerCase(Locale.ROOT);
+        List<String> equality = columns(persister, shape.equality());
+        List<String> trailing = columns(persister, shape.range().isEmpty() ? shape.order() : shape.range().subList(0, 1));
+
+        List<String> columns = new ArrayList<>(equality);
+        trailing.stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+        int prefix = Math.min(columns.size(), equality.size() + (trailing.isEmpty() ? 0 : 1));
+
+        List<List<String>> existing = indexCache.computeIfAbsent(table, this::indexes);
+        String index = existing.stream()
+                .filter(candidate -> covers(candidate, columns, equality.size(), prefix))
+                .map(candidate -> candidate.get(0))
+                .findFirst()
+                .orElse(null);
+
+        return new IndexAdvice(shape.source(), table, columns, equality.size(), prefix, index);
+    }
+
+    /**
+     * 동등 비교 컬럼은 순서와 관계없이 인덱스 앞부분에 있으면 되고, 그 다음 컬럼이 범위/정렬 컬럼이어야 한다.
+     * candidate 의 첫 번째 값은 인덱스 이름이다.
+     */
+    private static boolean covers(List<String> candidate, List<String> columns, int equality, int prefix) {
+        List<String> indexColumns = candidate.subList(1, candidate.size());
+        if (indexColumns.size() < prefix) {
+            return false;
+        }
+
+        Set<String> leading = new HashSet<>(indexColumns.subList(0, equality));
+        Set<String> expected = columns.subList(0, equality).stream()
+                .map(column -> column.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        if (!leading.equals(expected)) {
+            return false;
+        }
+        return prefix == equality || indexColumns.get(equality).equalsIgnoreCase(columns.get(equality));
+    }
+
+    private static List<String> columns(AbstractEntityPersister persister, List<String> properties) {
+        List<String> columns = new ArrayList<>();
+        for (String property : properties) {
+            String[] names = property.equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()
+                    : propertyColumns(persister, property);
+            if (names.length == 1 && !columns.contains(names[0].toLowerCase(Locale.ROOT))) {
+                columns.add(names[0].toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    private static String[] propertyColumns(AbstractEntityPersister persister, String property) {
+        try {
+            return persister.getPropertyColumnNames(property);
+        } catch (RuntimeException e) {
+            return new String[0];
+        }
+    }
+
+    /**
+     * 인덱스별 [인덱스 이름, 컬럼...] (대문자)
+     */
+    private List<List<String>> indexes(String table) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+             ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table.toUpperCase(Locale.ROOT), false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index == null || column == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                indexes.computeIfAbsent(index, name -> new ArrayList<>(List.of(name.toUpperCase(Locale.ROOT))))
+                        .add(column.toUpperCase(Locale.ROOT));
+            }
+        } catch (SQLException e) {
+            log.warn("index metadata unavailable for {}: {}", table, e.getMessage());
+        }
+        return List.copyOf(indexes.values());
+    }
+
+    private Map<String, Integer> columnTypes(String table) {
+        Map<String, Integer> types = new LinkedHashMap<>();
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+             ResultSet rs = connection.getMetaData().getColumns(null, null, table.toUpperCase(Locale.ROOT), null)) {
+            while (rs.next()) {
+                types.put(rs.getString("COLUMN_NAME").toUpperCase(Locale.ROOT), rs.getInt("DATA_TYPE"));
+            }
+        } catch (SQLException e) {
+            log.warn("column metadata unavailable for {}: {}", table, e.getMessage());
+        }
+        return types;
+    }
+
+    private static Object sample(Integer sqlType) {
+        if (sqlType == null) {
+            return "";
+        }
+        return switch (sqlType) {
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> 0;
+            case Types.BIGINT -> 0L;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> new Timestamp(0);
+            case Types.BOOLEAN -> false;
+            default -> "";
+        };
+    }
+
+    private List<QueryShape> shapes() {
+        List<QueryShape> shapes = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            String repository = information.getRepositoryInterface().getSimpleName();
+
+            for (Method method : information.getQueryMethods()) {
+                QueryShape shape = methodShape(repository + "." + method.getName(), domainType, method);
+                if (shape != null) {
+                    shapes.add(shape);
+                }
+            }
+
+            for (NamedQuery namedQuery : domainType.getAnnotationsByType(NamedQuery.class)) {
+                shapes.add(jpqlShape("@NamedQuery " + namedQuery.name(), domainType, namedQuery.query()));
+            }
+        }
+
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (PluralAttribute<?, ?, ?> attribute : entity.getPluralAttributes()) {
+                if (attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(OneToMany.class)
+                        && !field.getAnnotation(OneToMany.class).mappedBy().isEmpty()) {
+                    shapes.add(new QueryShape(entity.getName() + "." + attribute.getName(),
+                            attribute.getElementType().getJavaType(),
+                            List.of(field.getAnnotation(OneToMany.class).mappedBy()), List.of(), List.of()));
+                }
+            }
+        }
+        return shapes;
+    }
+
+    private QueryShape methodShape(String source, Class<?> domainType, Method method) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null) {
+            // 이름으로 지정한 쿼리는 @NamedQuery 로, 네이티브 쿼리는 검사하지 않는다.
+            if (query.nativeQuery() || query.value().isEmpty()) {
+                return null;
+            }
+            return jpqlShape(source, domainType, query.value());
+        }
+
+        PartTree tree;
+        try {
+            tree = new PartTree(method.getName(), domainType);
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        for (Part part : tree.getParts()) {
+            if (part.getProperty().hasNext()) {
+                continue;
+            }
+            if (EQUALITY.contains(part.getType())) {
+                equality.add(part.getProperty().getSegment());
+            } else if (RANGE.contains(part.getType())) {
+                range.add(part.getProperty().getSegment());
+            }
+        }
+
+        List<String> order = tree.getSort().stream().map(Sort.Order::getProperty).toList();
+        return new QueryShape(source, domainType, equality, range, order);
+    }
+
+    private static QueryShape jpqlShape(String source, Class<?> domainType, String jpql) {
+        Matcher from = FROM.matcher(jpql);
+        if (!from.find()) {
+            return new QueryShape(source, domainType, List.of(), List.of(), List.of());
+        }
+
+        String alias = from.group(2);
+        String lower = jpql.toLowerCase(Locale.ROOT);
+        int where = lower.indexOf(" where ");
+        int orderBy = lower.indexOf(" order by ");
+
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        if (where >= 0) {
+            String condition = jpql.substring(where, orderBy > where ? orderBy : jpql.length());
+            Matcher comparison = Pattern.compile("\\b" + alias + "\\.(\\w+)\\s*(=|>=|<=|>|<|in\\b|is\\s+null|between\\b)",
+                    Pattern.CASE_INSENSITIVE).matcher(condition);
+            while (comparison.find()) {
+                String operator = comparison.group(2).toLowerCase(Locale.ROOT);
+                (operator.equals("=") || operator.equals("in") || operator.startsWith("is") ? equality : range)
+                        .add(comparison.group(1));
+            }
+        }
+
+        List<String> order = new ArrayList<>();
+        if (orderBy >= 0) {
+            Matcher property = Pattern.compile("\\b" + alias + "\\.(\\w+)").matcher(jpql.substring(orderBy));
+            while (property.find()) {
+                order.add(property.group(1));
+            }
+        }
+        return new QueryShape(source, domainType, equality, range, order);
+    }
+}
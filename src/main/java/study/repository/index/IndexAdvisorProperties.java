@@ -0,0 +1,22 @@
+package study.repository.index;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "study.index-advisor")
+@Getter
+@Setter
+public class IndexAdvisorProperties {
+    /**
+     * 기동 시 리포지토리 쿼리를 검사하고 결과를 로그로 남긴다.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 누락된 인덱스를 바로 생성한다. 운영 DB 에서는 켜지 않는다.
+     */
+    private boolean createMissing = false;
+}
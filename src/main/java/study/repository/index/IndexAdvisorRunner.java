@@ -0,0 +1,52 @@
+package study.repository.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기동 시 인덱스 검사 결과를 로그로 남긴다.
+ * 기존 인덱스가 있는 쿼리는 EXPLAIN 으로 실제 사용 여부까지 확인한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "study.index-advisor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IndexAdvisorRunner implements ApplicationRunner {
+    private final IndexAdvisor indexAdvisor;
+    private final IndexAdvisorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<IndexAdvice> advices = indexAdvisor.advise();
+
+        if (properties.isCreateMissing()) {
+            advices.stream()
+                    .filter(advice -> !advice.isCovered())
+                    .map(IndexAdvice::createSql)
+                    .distinct()
+                    .forEach(sql -> {
+                        log.info("creating index: {}", sql);
+                        jdbcTemplate.execute(sql);
+                    });
+            advices = indexAdvisor.advise();
+        }
+
+        for (IndexAdvice advice : advices) {
+            if (!advice.isCovered()) {
+                log.warn("index advice: {} / {}", advice, advice.createSql());
+            } else if (!indexAdvisor.usesIndex(advice)) {
+                log.warn("index advice: {} but EXPLAIN does not use it", advice);
+            } else {
+                log.debug("index advice: {}", advice);
+            }
+        }
+    }
+}
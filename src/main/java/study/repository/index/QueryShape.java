@@ -0,0 +1,17 @@
+package study.repository.index;
+
+import java.util.List;
+
+/**
+ * 쿼리 하나가 루트 엔티티 테이블에서 사용하는 속성
+ *
+ * @param source   쿼리 출처 (ex: MemberRepository.findByUsernameAndAgeGreaterThan)
+ * @param equality 동등 비교(=, in, is null) 속성
+ * @param range    범위 비교(>, <, between, 접두 like) 속성, 인덱스에서는 첫 번째 하나만 쓸 수 있다.
+ * @param order    정렬 속성
+ */
+record QueryShape(String source, Class<?> domainType, List<String> equality, List<String> range, List<String> order) {
+    boolean isEmpty() {
+        return equality.isEmpty() && range.isEmpty() && order.isEmpty();
+    }
+}
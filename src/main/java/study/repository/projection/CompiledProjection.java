@@ -0,0 +1,33 @@
+package study.repository.projection;
+
+import java.util.function.Function;
+
+/**
+ * 프로젝션 타입별로 한 번만 만들어 재사용하는 SELECT 절과 결과 변환기
+ *
+ * @param select     JPQL select 절 (select 키워드 제외)
+ * @param joins      select 절에 필요한 left join 절, 없으면 빈 문자열
+ * @param resultType 쿼리 결과 타입 (DTO 클래스 또는 Tuple)
+ * @param mapper     결과 행 -> 프로젝션 변환
+ */
+public record CompiledProjection<T>(String select,
+                                    String joins,
+                                    Class<?> resultType,
+                                    Function<Object, T> mapper) {
+    /**
+     * 프로젝션 select 절과 조인을 붙인 JPQL
+     *
+     * @param entityName 엔티티 이름, 별칭은 항상 m 이다.
+     * @param where      where 절 (where 키워드 제외)
+     */
+    public String jpql(String entityName, String where) {
+        return jpql(entityName) + " where " + where;
+    }
+
+    /**
+     * where 절 없는 JPQL (정렬은 QueryUtils.applySorting 으로 별칭 m 기준으로 붙인다.)
+     */
+    public String jpql(String entityName) {
+        return "select " + select + " from " + entityName + " m" + joins;
+    }
+}
@@ -0,0 +1,219 @@
+package study.repository.projection;
+
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.stereotype.Component;
+
+import java.beans.Introspector;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 엔티티를 로딩하지 않는 프로젝션 쿼리 생성기
+ *
+ * - DTO(클래스 기반): 생성자 파라미터 이름으로 "select new ..." 생성자 표현식을 만든다. (-parameters 컴파일 옵션 필요)
+ * - Closed 인터페이스: 필요한 컬럼만 Tuple 로 조회하고, 메서드 -> 컬럼 위치를 미리 계산한 프록시로 감싼다.
+ * - Open 인터페이스(@Value SpEL): 엔티티 전체를 로딩해야 하므로 지원하지 않는다.
+ *
+ * 파라미터 이름 teamName 처럼 연관 엔티티 속성은 Spring Data 의 PropertyPath 규칙으로 team.name 을 찾는다.
+ */
+@Component
+public class ProjectionCompiler {
+    private final Map<List<Class<?>>, CompiledProjection<?>> cache = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> CompiledProjection<T> compile(Class<?> domainType, Class<T> projectionType) {
+        return (CompiledProjection<T>) cache.computeIfAbsent(List.of(domainType, projectionType),
+                key -> projectionType.isInterface()
+                        ? compileInterface(domainType, projectionType)
+                        : compileDto(domainType, projectionType));
+    }
+
+    private <T> CompiledProjection<T> compileDto(Class<?> domainType, Class<T> projectionType) {
+        Constructor<?> constructor = Arrays.stream(projectionType.getConstructors())
+                .filter(candidate -> candidate.getParameterCount() > 0)
+                .filter(candidate -> Arrays.stream(candidate.getParameterTypes()).noneMatch(domainType::equals))
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        projectionType.getName() + " 에 값 기반 public 생성자가 없습니다."));
+
+        Columns columns = new Columns(domainType);
+        for (Parameter parameter : constructor.getParameters()) {
+            if (!parameter.isNamePresent()) {
+                throw new IllegalStateException("생성자 파라미터 이름을 알 수 없습니다. -parameters 옵션으로 컴파일해야 합니다: "
+                        + projectionType.getName());
+            }
+            columns.add(parameter.getName());
+        }
+
+        String select = "new " + projectionType.getName() + "(" + String.join(", ", columns.expressions) + ")";
+        return new CompiledProjection<>(select, columns.joins(), projectionType, projectionType::cast);
+    }
+
+    private <T> CompiledProjection<T> compileInterface(Class<?> domainType, Class<T> projectionType) {
+        Columns columns = new Columns(domainType);
+        Layout layout = layout(projectionType, "", columns);
+
+        String select = IntStream.range(0, columns.expressions.size())
+                .mapToObj(index -> columns.expressions.get(index) + " as c" + index)
+                .collect(Collectors.joining(", "));
+
+        return new CompiledProjection<>(select, columns.joins(), Tuple.class,
+                row -> projectionType.cast(layout.proxy(((Tuple) row).toArray())));
+    }
+
+    private Layout layout(Class<?> projectionType, String prefix, Columns columns) {
+        Map<Method, Integer> scalars = new HashMap<>();
+        Map<Method, Layout> nested = new HashMap<>();
+
+        for (Method method : projectionType.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.isAnnotationPresent(Value.class)) {
+                throw new IllegalArgumentException("Open Projection 은 엔티티 전체를 로딩하므로 지원하지 않습니다. "
+                        + "Closed Projection 이나 DTO 를 사용하세요: " + projectionType.getName() + "." + method.getName());
+            }
+
+            String property = propertyName(method);
+            Class<?> returnType = method.getReturnType();
+
+            if (returnType.isInterface() && !returnType.getName().startsWith("java.")) {
+                nested.put(method, layout(returnType, prefix + property + ".", columns));
+            } else {
+                scalars.put(method, columns.add(prefix + property));
+            }
+        }
+
+        return new Layout(projectionType, scalars, nested);
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        if (method.getParameterCount() == 0 && name.startsWith("get") && name.length() > 3) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (method.getParameterCount() == 0 && name.startsWith("is") && name.length() > 2) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+        throw new IllegalArgumentException("프로젝션 메서드는 getter 여야 합니다: " + method);
+    }
+
+    /**
+     * 조회할 컬럼 목록과 연관 엔티티 조인
+     */
+    private static class Columns {
+        private final Class<?> domainType;
+        private final List<String> expressions = new ArrayList<>();
+        private final Set<String> joins = new LinkedHashSet<>();
+
+        Columns(Class<?> domainType) {
+            this.domainType = domainType;
+        }
+
+        /**
+         * @return select 절에서의 컬럼 위치
+         */
+        int add(String property) {
+            String path = PropertyPath.from(property, domainType).toDotPath();
+            int dot = path.indexOf('.');
+
+            if (dot < 0) {
+                expressions.add("m." + path);
+            } else {
+                // 연관 엔티티가 없는 행도 조회되도록 left join 한다.
+                String association = path.substring(0, dot);
+                joins.add(association);
+                expressions.add("j_" + association + path.substring(dot));
+            }
+            return expressions.size() - 1;
+        }
+
+        String joins() {
+            return joins.stream()
+                    .map(association -> " left join m." + association + " j_" + association)
+                    .collect(Collectors.joining());
+        }
+    }
+
+    /**
+     * 인터페이스 메서드 -> 행의 컬럼 위치 (프로젝션 타입마다 한 번 계산)
+     */
+    private record Layout(Class<?> type, Map<Method, Integer> scalars, Map<Method, Layout> nested) {
+        Object proxy(Object[] row) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new RowHandler(this, row));
+        }
+
+        /**
+         * 중첩 프로젝션의 컬럼이 모두 null 이면 연관 엔티티가 없는 것으로 본다.
+         */
+        boolean isEmpty(Object[] row) {
+            return scalars.values().stream().allMatch(index -> row[index] == null)
+                    && nested.values().stream().allMatch(layout -> layout.isEmpty(row));
+        }
+
+        /**
+         * 이 프로젝션(중첩 포함)이 읽는 컬럼 값, equals / hashCode 에 사용한다.
+         */
+        List<Object> values(Object[] row) {
+            List<Object> values = new ArrayList<>();
+            scalars.values().stream().sorted().forEach(index -> values.add(row[index]));
+            nested.values().forEach(layout -> values.addAll(layout.values(row)));
+            return values;
+        }
+    }
+
+    /**
+     * 프로젝션 프록시 호출 처리
+     * - getter: 행의 컬럼 값 / 중첩 프로젝션
+     * - default 메서드: 인터페이스 구현을 그대로 호출
+     * - equals / hashCode / toString: 같은 프로젝션 타입이고 읽는 컬럼 값이 같으면 같다.
+     */
+    private record RowHandler(Layout layout, Object[] row) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = layout.scalars().get(method);
+            if (index != null) {
+                return row[index];
+            }
+
+            Layout nested = layout.nested().get(method);
+            if (nested != null) {
+                return nested.isEmpty(row) ? null : nested.proxy(row);
+            }
+
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+
+            return switch (method.getName()) {
+                case "equals" -> args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof RowHandler other
+                        && other.layout.type() == layout.type()
+                        && other.layout.values(other.row).equals(layout.values(row));
+                case "hashCode" -> 31 * layout.type().hashCode() + layout.values(row).hashCode();
+                case "toString" -> layout.type().getSimpleName() + layout.scalars().entrySet().stream()
+                        .map(entry -> propertyName(entry.getKey()) + "=" + row[entry.getValue()])
+                        .collect(Collectors.joining(", ", "(", ")"));
+                // layout 에서 getter 가 아닌 추상 메서드는 컴파일 시점에 거부하므로 여기에 오지 않는다.
+                default -> throw new UnsupportedOperationException(method.toString());
+            };
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package study.repository.retry;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 리포지토리 메서드가 동시 변경 충돌(@Version 불일치)로 실패하면 지수 백오프 후 처음부터 다시 실행한다.
+ *
+ * 재시도는 트랜잭션 단위로만 의미가 있으므로 메서드 자체가 트랜잭션 경계(@Transactional)여야 하고,
+ * 이미 트랜잭션 안에서 호출되면 재시도하지 않고 예외를 그대로 던진다.
+ *
+ * @see RetryOnConflictInterceptor
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+    /**
+     * 첫 실행을 포함한 최대 실행 횟수
+     */
+    int maxAttempts() default 10;
+
+    /**
+     * 첫 재시도 전 대기 시간(ms), 이후 multiplier 배씩 늘어난다.
+     */
+    long backoff() default 5;
+
+    double multiplier() default 2.0;
+
+    long maxBackoff() default 200;
+
+    Class<? extends Throwable>[] retryFor() default OptimisticLockingFailureException.class;
+}
@@ -0,0 +1,106 @@
+package study.repository.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 프록시의 가장 바깥(트랜잭션 인터셉터보다 앞)에 등록되어 @RetryOnConflict 메서드를 재실행한다.
+ * 커밋 시점의 충돌까지 잡기 위해 트랜잭션이 끝난 뒤의 예외를 보고 판단한다.
+ *
+ * 대기 시간은 지수 백오프에 지터(0.5 ~ 1배)를 더해 같은 행을 다투는 쓰기들이 동시에 다시 부딪히지 않게 한다.
+ *
+ * @see study.config.RetryConfig
+ */
+@Slf4j
+@Component
+public class RetryOnConflictInterceptor implements MethodInterceptor {
+    private final Map<Method, Optional<RetryOnConflict>> annotations = new ConcurrentHashMap<>();
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder backoffMillis = new LongAdder();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RetryOnConflict retry = annotations.computeIfAbsent(invocation.getMethod(),
+                        method -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class)))
+                .orElse(null);
+
+        if (retry == null) {
+            return invocation.proceed();
+        }
+
+        invocations.increment();
+
+        // 바깥 트랜잭션은 이미 실패한 영속성 컨텍스트를 들고 있으므로 여기서 다시 실행해도 같은 결과가 된다.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // 같은 호출을 여러 번 진행하려면 인터셉터 체인을 복제해야 한다.
+                return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+            } catch (Throwable e) {
+                if (!isRetryable(retry, e)) {
+                    throw e;
+                }
+                conflicts.increment();
+
+                if (attempt >= retry.maxAttempts()) {
+                    exhausted.increment();
+                    log.warn("{} conflicted {} times, giving up", invocation.getMethod().getName(), attempt);
+                    throw e;
+                }
+
+                long delay = delay(retry, attempt);
+                log.debug("{} conflicted (attempt {}), retrying in {} ms", invocation.getMethod().getName(), attempt, delay);
+                sleep(delay, e);
+                retries.increment();
+                backoffMillis.add(delay);
+            }
+        }
+    }
+
+    public RetryStats stats() {
+        return new RetryStats(invocations.sum(), conflicts.sum(), retries.sum(), exhausted.sum(), backoffMillis.sum());
+    }
+
+    private static boolean isRetryable(RetryOnConflict retry, Throwable e) {
+        for (Class<? extends Throwable> type : retry.retryFor()) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long delay(RetryOnConflict retry, int attempt) {
+        double exponential = retry.backoff() * Math.pow(retry.multiplier(), attempt - 1);
+        long delay = (long) Math.min(retry.maxBackoff(), exponential);
+        return delay <= 1 ? delay : ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+    }
+
+    private static void sleep(long millis, Throwable cause) throws Throwable {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
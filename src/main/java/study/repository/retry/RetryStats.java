@@ -0,0 +1,14 @@
+package study.repository.retry;
+
+/**
+ * @param invocations @RetryOnConflict 메서드 호출 수
+ * @param conflicts   충돌로 실패한 실행 수 (재시도 포함)
+ * @param retries     백오프 후 다시 실행한 수
+ * @param exhausted   최대 실행 횟수를 넘겨 예외를 던진 호출 수
+ */
+public record RetryStats(long invocations,
+                         long conflicts,
+                         long retries,
+                         long exhausted,
+                         long backoffMillis) {
+}
@@ -0,0 +1,118 @@
+package study.repository.scroll;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset 스크롤 위치 <-> 불투명(opaque) 커서 문자열 변환
+ *
+ * 클라이언트는 커서 내용을 해석하지 않고 다음 요청에 그대로 넘기기만 한다.
+ * 정렬 키의 타입(Long, Integer, String)을 함께 기록하여 복원 시 파라미터 타입이 달라지지 않게 한다.
+ *
+ * 커서를 만든 정렬(속성 / 방향)도 함께 기록하고, 복원할 때 요청의 정렬과 다르면 거부한다.
+ * 다른 정렬에 커서를 재사용하면 엉뚱한 위치부터 조회되기 때문이다.
+ * 해석할 수 없거나 정렬이 맞지 않는 커서는 IllegalArgumentException 이 발생한다.
+ */
+public final class KeysetCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param sort 위치를 만든 쿼리의 정렬
+     */
+    public static String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Keyset 스크롤 위치만 커서로 변환할 수 있습니다: " + position);
+        }
+
+        StringBuilder builder = new StringBuilder(encodeSort(sort)).append('|');
+        for (Map.Entry<String, Object> key : keyset.getKeys().entrySet()) {
+            if (builder.charAt(builder.length() - 1) != '|') {
+                builder.append('&');
+            }
+            builder.append(key.getKey()).append('=').append(encodeValue(key.getValue()));
+        }
+
+        return ENCODER.encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서가 없으면 첫 페이지 위치를 반환한다.
+     *
+     * @param sort 이번 요청의 정렬, 커서를 만든 정렬과 같아야 한다.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String cursorSort;
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            cursorSort = decoded.substring(0, separator);
+
+            for (String pair : decoded.substring(separator + 1).split("&")) {
+                int equals = pair.indexOf('=');
+                keys.put(pair.substring(0, equals), decodeValue(pair.substring(equals + 1)));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+
+        if (!cursorSort.equals(encodeSort(sort))) {
+            throw new IllegalArgumentException("커서의 정렬(" + cursorSort + ")이 요청한 정렬(" + encodeSort(sort) + ")과 다릅니다.");
+        }
+
+        // 정렬 키가 빠지거나 추가된 커서는 조회 조건을 만들 수 없다.
+        if (!keys.keySet().equals(sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet()))) {
+            throw new IllegalArgumentException("커서의 키 " + keys.keySet() + " 가 정렬 " + sort + " 과 맞지 않습니다.");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeSort(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "N";
+        }
+        if (value instanceof Long) {
+            return "L" + value;
+        }
+        if (value instanceof Integer) {
+            return "I" + value;
+        }
+        if (value instanceof String string) {
+            return "S" + ENCODER.encodeToString(string.getBytes(StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("커서로 변환할 수 없는 키 타입입니다: " + value);
+    }
+
+    private static Object decodeValue(String value) {
+        String body = value.substring(1);
+
+        return switch (value.charAt(0)) {
+            case 'N' -> null;
+            case 'L' -> Long.valueOf(body);
+            case 'I' -> Integer.valueOf(body);
+            case 'S' -> new String(DECODER.decode(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("알 수 없는 키 타입입니다: " + value);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package study.repository.specification;
+
+/**
+ * ShapedSpecification 을 번역한 JPQL
+ * 바인딩 값은 ShapedSpecification.getValues() 순서대로 ?1, ?2 ... 위치 파라미터에 넣는다.
+ */
+public record CompiledSpecification(String jpql) {
+}
@@ -7,9 +7,15 @@ import org.springframework.util.StringUtils;
 import study.entity.Member;
 import study.entity.Team;
 
+import java.util.List;
+
+/**
+ * 반환값은 JpaSpecificationExecutor 에 그대로 넘겨도 되고,
+ * findAllCompiled 로 넘기면 같은 구조의 조건끼리 JPQL 을 재사용한다.
+ */
 public class MemberSpec {
-    public static Specification<Member> teamName(final String teamName) {
-        return (Specification<Member>) (root, query, builder) -> {
+    public static ShapedSpecification<Member> teamName(final String teamName) {
+        Specification<Member> criteria = (root, query, builder) -> {
             if (StringUtils.isEmpty(teamName)) {
                 return null;
             }
@@ -17,10 +23,24 @@ public class MemberSpec {
             Join<Member, Team> t = root.join("team", JoinType.INNER); // 회원과 조인
             return builder.equal(t.get("name"), teamName);
         };
+
+        if (StringUtils.isEmpty(teamName)) {
+            return ShapedSpecification.of("teamName:empty", null, null, List.of(), criteria);
+        }
+        return ShapedSpecification.of("teamName", "join m.team t", "t.name = ?", List.of(teamName), criteria);
     }
 
-    public static Specification<Member> username(final String username) {
-        return (Specification<Member>) (root, query, builder) ->
-            builder.equal(root.get("username"), username);
+    /**
+     * username 이 null 이면 username 이 없는 회원을 찾는다. (Criteria / JPQL 모두 is null)
+     */
+    public static ShapedSpecification<Member> username(final String username) {
+        Specification<Member> criteria = (root, query, builder) -> username == null
+                ? builder.isNull(root.get("username"))
+                : builder.equal(root.get("username"), username);
+
+        if (username == null) {
+            return ShapedSpecification.of("username:null", null, "m.username is null", List.of(), criteria);
+        }
+        return ShapedSpecification.of("username", null, "m.username = ?", List.of(username), criteria);
     }
 }
@@ -0,0 +1,103 @@
+package study.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 구조(shape)와 바인딩 값을 분리해서 들고 있는 Specification
+ *
+ * 람다 Specification 은 내부를 들여다볼 수 없어 호출마다 Criteria 트리를 다시 만들어야 하지만,
+ * 이 클래스는 같은 구조라면 같은 shape 문자열과 JPQL 조각을 가지므로 SpecificationCompiler 가 JPQL 을 재사용할 수 있다.
+ * JpaSpecificationExecutor 에 그대로 넘기면 기존처럼 Criteria 로 동작한다.
+ *
+ * JPQL 조각은 루트 별칭 m 을 기준으로 작성하고, 바인딩 위치는 ? 로 표시한다.
+ */
+public final class ShapedSpecification<T> implements Specification<T> {
+    private final String shape;
+    private final Set<String> joins;
+    private final String predicate;
+    private final List<Object> values;
+    private final Specification<T> criteria;
+
+    private ShapedSpecification(String shape, Set<String> joins, String predicate, List<Object> values,
+                                Specification<T> criteria) {
+        this.shape = shape;
+        this.joins = joins;
+        this.predicate = predicate;
+        this.values = values;
+        this.criteria = criteria;
+    }
+
+    /**
+     * @param join      필요한 조인 절, 없으면 null (ex: "join m.team t")
+     * @param predicate 조건 JPQL 조각, 조건이 없으면 null
+     */
+    public static <T> ShapedSpecification<T> of(String shape, String join, String predicate, List<Object> values,
+                                                Specification<T> criteria) {
+        Set<String> joins = new LinkedHashSet<>();
+        if (join != null) {
+            joins.add(join);
+        }
+        return new ShapedSpecification<>(shape, joins, predicate, List.copyOf(values), criteria);
+    }
+
+    public ShapedSpecification<T> and(ShapedSpecification<T> other) {
+        return combine("and", other, Specification.where(criteria).and(other.criteria));
+    }
+
+    public ShapedSpecification<T> or(ShapedSpecification<T> other) {
+        return combine("or", other, Specification.where(criteria).or(other.criteria));
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        return criteria.toPredicate(root, query, criteriaBuilder);
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public Set<String> getJoins() {
+        return joins;
+    }
+
+    public String getPredicate() {
+        return predicate;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * 조건이 없는 쪽은 무시한다. (Specification.and 와 같은 동작)
+     */
+    private ShapedSpecification<T> combine(String operator, ShapedSpecification<T> other, Specification<T> combined) {
+        Set<String> joins = new LinkedHashSet<>(this.joins);
+        joins.addAll(other.joins);
+
+        List<Object> values = new ArrayList<>(this.values);
+        values.addAll(other.values);
+
+        String predicate;
+        if (this.predicate == null) {
+            predicate = other.predicate;
+        } else if (other.predicate == null) {
+            predicate = this.predicate;
+        } else {
+            predicate = "(" + this.predicate + " " + operator + " " + other.predicate + ")";
+        }
+
+        return new ShapedSpecification<>(operator + "(" + shape + "," + other.shape + ")", joins, predicate,
+                List.copyOf(values), combined);
+    }
+}
@@ -0,0 +1,8 @@
+package study.repository.specification;
+
+public record SpecificationCacheStats(long hits, long misses, int size) {
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
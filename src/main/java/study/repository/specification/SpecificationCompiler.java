@@ -0,0 +1,62 @@
+package study.repository.specification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ShapedSpecification 을 JPQL 로 번역하고 shape 단위로 캐시한다.
+ *
+ * 바인딩 값이 달라도 shape 가 같으면 같은 JPQL 문자열을 쓰므로,
+ * Criteria 트리 생성을 건너뛰고 Hibernate 쿼리 계획 캐시(hibernate.query.plan_cache_max_size)에서 SQL 번역 결과를 재사용한다.
+ */
+@Component
+public class SpecificationCompiler {
+    private final Map<String, CompiledSpecification> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CompiledSpecification compile(String entityName, ShapedSpecification<?> specification) {
+        String key = entityName + ":" + specification.getShape();
+
+        CompiledSpecification compiled = cache.get(key);
+        if (compiled != null) {
+            hits.increment();
+            return compiled;
+        }
+
+        misses.increment();
+        return cache.computeIfAbsent(key, k -> translate(entityName, specification));
+    }
+
+    public SpecificationCacheStats stats() {
+        return new SpecificationCacheStats(hits.sum(), misses.sum(), cache.size());
+    }
+
+    private CompiledSpecification translate(String entityName, ShapedSpecification<?> specification) {
+        StringBuilder from = new StringBuilder(" from ").append(entityName).append(" m");
+        specification.getJoins().forEach(join -> from.append(' ').append(join));
+
+        if (specification.getPredicate() != null) {
+            from.append(" where ").append(numberParameters(specification.getPredicate()));
+        }
+
+        return new CompiledSpecification("select m" + from);
+    }
+
+    private static String numberParameters(String predicate) {
+        StringBuilder numbered = new StringBuilder(predicate.length() + 8);
+        int position = 0;
+        for (int i = 0; i < predicate.length(); i++) {
+            char c = predicate.charAt(i);
+            numbered.append(c);
+            if (c == '?') {
+                numbered.append(++position);
+            }
+        }
+        return numbered.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package study.repository.statement;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * HTTP 요청마다 SQL 실행 횟수를 집계하여 예산 초과와 N+1 을 경고한다.
+ *
+ * 비동기 요청(CompletableFuture, StreamingResponseBody)은 첫 디스패치가 끝날 때 afterCompletion 이 호출되지 않으므로
+ * afterConcurrentHandlingStarted 에서 구간을 닫는다. 그렇지 않으면 구간이 풀링된 요청 스레드의 ThreadLocal 에 남는다.
+ * 비동기 작업은 다른 스레드에서 실행되어 집계되지 않으므로 ASYNC 재디스패치에서는 구간을 열지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final String SCOPE_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".scope";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled() && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(SCOPE_ATTRIBUTE, sqlStatementCounter.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        complete(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        complete(request);
+    }
+
+    private void complete(HttpServletRequest request) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlStatementScope scope)) {
+            return;
+        }
+        scope.close();
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+
+        if (scope.getStatementCount() > properties.getMaxStatements()) {
+            sqlStatementCounter.recordBudgetViolation();
+            log.warn("{} {} executed {} statements (budget {})", request.getMethod(), request.getRequestURI(),
+                    scope.getStatementCount(), properties.getMaxStatements());
+        }
+
+        Map<String, Integer> candidates = scope.getNPlusOneCandidates(properties.getRepeatedSelectThreshold());
+        if (!candidates.isEmpty()) {
+            sqlStatementCounter.recordNPlusOne();
+            log.warn("{} {} possible N+1: {}", request.getMethod(), request.getRequestURI(), candidates);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package study.repository.statement;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "study.sql-budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+    /**
+     * HTTP 요청별 SQL 집계 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 요청 하나에서 허용하는 SQL 실행 횟수
+     */
+    private int maxStatements = 30;
+
+    /**
+     * 같은 모양의 SELECT 가 이 횟수 이상 반복되면 N+1 로 본다.
+     */
+    private int repeatedSelectThreshold = 5;
+}
@@ -0,0 +1,65 @@
+package study.repository.statement;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate 가 실행하는 모든 SQL 을 현재 스레드의 열린 구간(SqlStatementScope)에 기록한다.
+ * 열린 구간이 없으면 전체 실행 횟수만 센다.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<Deque<SqlStatementScope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder budgetViolations = new LongAdder();
+    private final LongAdder nPlusOneDetections = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        statements.increment();
+
+        // 중첩된 구간이 있으면 바깥 구간에도 함께 집계한다.
+        for (SqlStatementScope scope : scopes.get()) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public SqlStatementScope open() {
+        SqlStatementScope scope = new SqlStatementScope(this);
+        scopes.get().push(scope);
+        return scope;
+    }
+
+    void close(SqlStatementScope scope) {
+        Deque<SqlStatementScope> current = scopes.get();
+        current.remove(scope);
+        if (current.isEmpty()) {
+            scopes.remove();
+        }
+    }
+
+    /**
+     * 현재 스레드에 열려 있는 구간 수
+     */
+    int openScopes() {
+        return scopes.get().size();
+    }
+
+    void recordBudgetViolation() {
+        budgetViolations.increment();
+    }
+
+    void recordNPlusOne() {
+        nPlusOneDetections.increment();
+    }
+
+    public SqlStatementStats stats() {
+        return new SqlStatementStats(statements.sum(), budgetViolations.sum(), nPlusOneDetections.sum());
+    }
+}
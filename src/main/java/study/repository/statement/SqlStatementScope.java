@@ -0,0 +1,83 @@
+package study.repository.statement;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 한 구간(HTTP 요청, 테스트 블록 등)에서 실행된 SQL 집계
+ * try-with-resources 로 열고 닫는다.
+ *
+ * <pre>
+ * try (SqlStatementScope scope = sqlStatementCounter.open()) {
+ *     ...
+ *     scope.assertNoNPlusOne(3);
+ * }
+ * </pre>
+ */
+public class SqlStatementScope implements AutoCloseable {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private final SqlStatementCounter counter;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int statementCount;
+
+    SqlStatementScope(SqlStatementCounter counter) {
+        this.counter = counter;
+    }
+
+    void record(String sql) {
+        statementCount++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * 같은 모양의 SQL 별 실행 횟수
+     */
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * threshold 번 이상 반복된 같은 모양의 SELECT (N+1 후보)
+     */
+    public Map<String, Integer> getNPlusOneCandidates(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("select") && entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    public void assertStatementCountAtMost(int maxStatements) {
+        if (statementCount > maxStatements) {
+            throw new SqlBudgetExceededException(
+                    "SQL 실행 횟수 " + statementCount + " 회가 예산 " + maxStatements + " 회를 초과했습니다: " + shapes);
+        }
+    }
+
+    public void assertNoNPlusOne(int threshold) {
+        Map<String, Integer> candidates = getNPlusOneCandidates(threshold);
+        if (!candidates.isEmpty()) {
+            throw new SqlBudgetExceededException("N+1 쿼리가 감지되었습니다: " + candidates);
+        }
+    }
+
+    @Override
+    public void close() {
+        counter.close(this);
+    }
+
+    /**
+     * 바인딩 파라미터 개수만 다른 IN 절은 같은 모양으로 본다.
+     */
+    static String shape(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase();
+        return IN_LIST.matcher(normalized).replaceAll("(?)");
+    }
+}
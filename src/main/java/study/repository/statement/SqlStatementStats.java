@@ -0,0 +1,11 @@
+package study.repository.statement;
+
+/**
+ * 애플리케이션 시작 이후 누적 SQL 실행 통계
+ *
+ * @param statements         실행된 SQL 수
+ * @param budgetViolations   SQL 예산을 초과한 요청 수
+ * @param nPlusOneDetections N+1 이 감지된 요청 수
+ */
+public record SqlStatementStats(long statements, long budgetViolations, long nPlusOneDetections) {
+}
@@ -0,0 +1,100 @@
+package study.auditing;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.entity.Member;
+import study.entity.Team;
+import study.repository.MemberRepository;
+import study.repository.TeamRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * study.auditing.mode=cached (기본값)
+ * 트랜잭션 경계를 직접 나누기 위해 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest
+class AuditingListenerTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sharesAuditorAndTimestampWithinTransaction() {
+        // given
+        Team team = new Team("teamA");
+
+        // when
+        List<Member> members = transactionTemplate.execute(status -> {
+            teamRepository.save(team);
+            return memberRepository.saveAll(List.of(
+                    new Member("member1", 10, team),
+                    new Member("member2", 20, team)));
+        });
+        Member other = memberRepository.save(new Member("member3", 30));
+
+        // then
+        Member first = members.get(0);
+        Member second = members.get(1);
+        assertThat(first.getCreatedBy()).isNotNull().isEqualTo(second.getCreatedBy());
+        assertThat(first.getLastModifiedBy()).isEqualTo(first.getCreatedBy());
+        assertThat(first.getCreatedDate()).isNotNull().isEqualTo(second.getCreatedDate());
+        assertThat(team.getCreatedDate()).isEqualTo(first.getCreatedDate());
+
+        assertThat(other.getCreatedBy()).isNotNull().isNotEqualTo(first.getCreatedBy());
+    }
+
+    @Test
+    void advancesTimestampAfterFlush() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when
+        LocalDateTime[] modified = transactionTemplate.execute(status -> {
+            Member found = memberRepository.findById(member.getId()).get();
+            found.setAge(11);
+            entityManager.flush();
+            LocalDateTime firstFlush = found.getLastModifiedDate();
+
+            sleep();
+            found.setAge(12);
+            entityManager.flush();
+            return new LocalDateTime[]{firstFlush, found.getLastModifiedDate()};
+        });
+
+        // then
+        assertThat(modified[1]).isAfter(modified[0]);
+        assertThat(memberRepository.findById(member.getId()).get().getLastModifiedBy())
+                .isNotNull()
+                .isNotEqualTo(member.getCreatedBy());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package study.auditing;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class BulkAuditTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    AuditingProperties properties;
+
+    @Autowired
+    AuditorAware<String> auditorAware;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void bulkAgePlusUpdatesAuditColumns() {
+        // given
+        Member young = memberRepository.save(new Member("young", 10));
+        Member old = memberRepository.save(new Member("old", 30));
+        entityManager.flush();
+        LocalDateTime before = old.getLastModifiedDate();
+
+        // when
+        int updated = memberRepository.bulkAgePlus(20);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+
+        Member updatedOld = memberRepository.findById(old.getId()).get();
+        assertThat(updatedOld.getAge()).isEqualTo(31);
+        // 엔티티 감사와 같은 트랜잭션 auditor 를 사용한다.
+        assertThat(updatedOld.getLastModifiedBy()).isEqualTo(auditorAware.getCurrentAuditor().get());
+        assertThat(updatedOld.getLastModifiedDate()).isAfterOrEqualTo(before);
+        assertThat(updatedOld.getVersion()).isEqualTo(1L);
+
+        assertThat(memberRepository.findById(young.getId()).get().getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void keepsAuditColumnsWhenBulkRewriteIsDisabled() {
+        // given
+        Member member = memberRepository.save(new Member("member", 30));
+        entityManager.flush();
+        entityManager.clear();
+        Member saved = memberRepository.findById(member.getId()).get();
+        LocalDateTime before = saved.getLastModifiedDate();
+        String by = saved.getLastModifiedBy();
+
+        // when
+        properties.setBulkRewrite(false);
+        try {
+            memberRepository.bulkAgePlus(20);
+        } finally {
+            properties.setBulkRewrite(true);
+        }
+
+        // then
+        Member updated = memberRepository.findById(member.getId()).get();
+        assertThat(updated.getAge()).isEqualTo(31);
+        assertThat(updated.getLastModifiedDate()).isEqualTo(before);
+        assertThat(updated.getLastModifiedBy()).isEqualTo(by);
+    }
+}
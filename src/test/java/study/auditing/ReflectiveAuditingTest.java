@@ -0,0 +1,59 @@
+package study.auditing;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.entity.Team;
+import study.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * study.auditing.mode=reflective 에서도 AuditingClock 은 flush 마다 시각을 다시 읽는다.
+ */
+@SpringBootTest(properties = "study.auditing.mode=reflective")
+class ReflectiveAuditingTest {
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        teamRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void advancesTimestampAfterFlush() {
+        // when
+        Team[] teams = transactionTemplate.execute(status -> {
+            Team first = new Team("teamA");
+            entityManager.persist(first);
+            entityManager.flush();
+
+            sleep();
+            Team second = new Team("teamB");
+            entityManager.persist(second);
+            entityManager.flush();
+            return new Team[]{first, second};
+        });
+
+        // then
+        assertThat(teams[1].getCreatedDate()).isAfter(teams[0].getCreatedDate());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
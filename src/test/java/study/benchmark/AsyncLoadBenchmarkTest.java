@@ -0,0 +1,95 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 동시 요청에서 동기 조회(/members/{id})와 비동기 Facade 조회(/members/{id}/async)의 처리량과 p99 지연
+ * Tomcat 스레드 수를 줄여 요청 스레드가 병목이 되는 상황을 만든다.
+ *
+ * ./gradlew benchmark --tests '*AsyncLoadBenchmarkTest' -Dbenchmark.clients=200 -Dbenchmark.tomcatThreads=20
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=${benchmark.tomcatThreads:20}",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "study.sql-budget.enabled=false"
+})
+@ActiveProfiles("benchmark")
+class AsyncLoadBenchmarkTest {
+    private static final int MEMBERS = 10_000;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncVersusAsync() throws Exception {
+        Benchmarks.seedMembers(jdbcTemplate, MEMBERS, 0);
+
+        int clients = Benchmarks.intProperty("clients", 200);
+        int requests = Benchmarks.intProperty("requests", 20_000);
+
+        run("sync", "/members/%d", clients, requests / 10);
+        run("async", "/members/%d/async", clients, requests / 10);
+
+        run("sync", "/members/%d", clients, requests);
+        run("async", "/members/%d/async", clients, requests);
+
+        jdbcTemplate.update("delete from member");
+    }
+
+    private void run(String name, String path, int clients, int requests) throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        int perClient = Math.max(1, requests / clients);
+
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[perClient];
+                for (int i = 0; i < perClient; i++) {
+                    long id = ThreadLocalRandom.current().nextLong(1, MEMBERS + 1);
+                    HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + path.formatted(id))).build();
+
+                    long begin = System.nanoTime();
+                    httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] latencies = new long[perClient * clients];
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(futures.get(c).get(), 0, latencies, c * perClient, perClient);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-6s requests=%-7d %10.0f req/s  p50=%8.3f ms  p99=%8.3f ms%n", name, latencies.length,
+                latencies.length / seconds, Benchmarks.percentile(latencies, 50), Benchmarks.percentile(latencies, 99));
+    }
+}
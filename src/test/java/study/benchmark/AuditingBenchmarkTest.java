@@ -0,0 +1,84 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.stream.IntStream;
+
+/**
+ * 감사 필드 설정 방식별 INSERT 처리량
+ * - batched: 한 트랜잭션에서 rows 건 saveAllBatched (auditor / 시각 재사용 효과가 가장 크다.)
+ * - single: 건마다 save (트랜잭션마다 auditor 한 번)
+ *
+ * ./gradlew benchmark --tests '*AuditingBenchmarkTest' -Dbenchmark.rows=200000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class AuditingBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        truncate();
+    }
+
+    /**
+     * 테이블 정리는 측정 시간에 포함하지 않는다.
+     */
+    void truncate() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    void batched(String mode) {
+        int rows = Benchmarks.intProperty("rows", 100_000);
+
+        double millis = Benchmarks.measure(1, 3, this::truncate, () -> memberRepository.saveAllBatched(
+                IntStream.range(0, rows).mapToObj(i -> new Member("member" + i, i % 100))));
+        System.out.printf("%-10s batched %10.0f rows/s%n", mode, rows / (millis / 1000));
+    }
+
+    void single(String mode) {
+        int rows = Benchmarks.intProperty("rows", 100_000) / 10;
+
+        double millis = Benchmarks.measure(1, 3, this::truncate, () -> {
+            for (int i = 0; i < rows; i++) {
+                memberRepository.save(new Member("member" + i, i % 100));
+            }
+        });
+        System.out.printf("%-10s single  %10.0f rows/s%n", mode, rows / (millis / 1000));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "study.auditing.mode=reflective")
+    class Reflective {
+        @Test
+        void insert() {
+            batched("reflective");
+            single("reflective");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "study.auditing.mode=cached")
+    class Cached {
+        @Test
+        void insert() {
+            batched("cached");
+            single("cached");
+        }
+    }
+}
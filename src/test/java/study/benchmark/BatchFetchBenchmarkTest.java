@@ -0,0 +1,73 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+import study.repository.statement.SqlStatementCounter;
+import study.repository.statement.SqlStatementScope;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 회원 목록 + 팀 이름 조회 시 SQL 실행 횟수와 수행 시간
+ * 지연 로딩(배치 페치), fetch join, @EntityGraph 를 비교한다.
+ *
+ * 배치 페치 없이 비교하려면 크기를 1로 지정한다.
+ * ./gradlew benchmark --tests '*BatchFetchBenchmarkTest' -Dbenchmark.batchFetchSize=1
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=${benchmark.batchFetchSize:100}")
+@ActiveProfiles("benchmark")
+@Transactional
+class BatchFetchBenchmarkTest {
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void listMembersWithTeamNames() {
+        Benchmarks.seedTeams(jdbcTemplate, 1000);
+        Benchmarks.seedMembers(jdbcTemplate, Benchmarks.intProperty("members", 10_000), 1000);
+
+        run("lazy (batch fetch)", () -> memberRepository.findSliceBy(PageRequest.of(0, PAGE_SIZE)).getContent());
+        run("fetch join", () -> memberRepository.findMemberFetchJoin());
+        run("entity graph", () -> memberRepository.findMemberEntityGraph());
+    }
+
+    private void run(String name, Supplier<List<Member>> query) {
+        int[] statements = {0};
+
+        double millis = Benchmarks.measure(3, 10, () -> {
+            // 2차 캐시에 남은 팀으로 SQL 이 줄어들지 않도록 매번 비운다.
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+
+            try (SqlStatementScope scope = sqlStatementCounter.open()) {
+                query.get().forEach(member -> member.getTeam().getName());
+                statements[0] = scope.getStatementCount();
+            }
+            entityManager.clear();
+        });
+
+        System.out.printf("%-20s statements=%-6d %10.3f ms%n", name, statements[0], millis);
+    }
+}
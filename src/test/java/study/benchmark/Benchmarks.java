@@ -0,0 +1,129 @@
+package study.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공용 도구
+ * - 엔티티를 거치지 않고 JDBC 배치로 시드 데이터를 넣는다.
+ * - 워밍업 후 평균 수행 시간을 측정한다.
+ */
+public final class Benchmarks {
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * -Dbenchmark.{name}=값 으로 데이터 규모를 조정할 수 있다.
+     */
+    public static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("benchmark." + name, defaultValue);
+    }
+
+    public static void seedTeams(JdbcTemplate jdbcTemplate, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (long id = 1; id <= count; id++) {
+            batch.add(new Object[]{id, "team" + id, now, now});
+
+            if (batch.size() == SEED_BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate("insert into team (team_id, name, created_date, updated_date, version) " +
+                        "values (?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * member_id 는 1부터 연속된 값으로, 팀이 있으면 순서대로 배정한다.
+     */
+    public static void seedMembers(JdbcTemplate jdbcTemplate, int count, int teamCount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (long id = 1; id <= count; id++) {
+            Long teamId = teamCount > 0 ? (id % teamCount) + 1 : null;
+            batch.add(new Object[]{id, "member" + id, (int) (id % 100), teamId, now, now});
+
+            if (batch.size() == SEED_BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate("insert into member " +
+                        "(member_id, username, age, team_id, created_date, last_modified_date, version) " +
+                        "values (?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 워밍업을 제외한 반복 수행의 평균 시간(ms)
+     */
+    public static double measure(int warmup, int iterations, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * measure 와 같지만 매 수행 전에 실행하는 setUp(테이블 정리 등)은 시간에서 뺀다.
+     */
+    public static double measure(int warmup, int iterations, Runnable setUp, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            setUp.run();
+            task.run();
+        }
+
+        long elapsed = 0;
+        for (int i = 0; i < iterations; i++) {
+            setUp.run();
+            long start = System.nanoTime();
+            task.run();
+            elapsed += System.nanoTime() - start;
+        }
+
+        return elapsed / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * 정렬된 나노초 지연 시간에서 백분위(ms)
+     */
+    public static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    public static void resetPeakHeap() {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /**
+     * resetPeakHeap() 이후 힙 영역별 최대 사용량의 합(byte)
+     */
+    public static long peakHeap() {
+        return heapPools().stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+}
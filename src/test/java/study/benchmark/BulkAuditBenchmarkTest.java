@@ -0,0 +1,73 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 감사 컬럼(last_modified_date / last_modified_by)을 유지하며 전체 회원 나이를 1씩 올리는 비용
+ * - per entity: 엔티티를 모두 조회해 변경 감지로 UPDATE (감사 리스너 동작)
+ * - bulk: bulkAgePlus, 감사 컬럼을 같은 UPDATE 에서 바인딩 파라미터로 설정 (BulkAudit)
+ *
+ * ./gradlew benchmark --tests '*BulkAuditBenchmarkTest' -Dbenchmark.members=200000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+class BulkAuditBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    int members;
+
+    @BeforeEach
+    void seed() {
+        members = Benchmarks.intProperty("members", 50_000);
+        Benchmarks.seedMembers(jdbcTemplate, members, 0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // 시드 데이터는 last_modified_by 가 비어 있으므로 모든 행이 감사 컬럼까지 변경되었는지 확인한다.
+        long audited = jdbcTemplate.queryForObject("select count(*) from member where last_modified_by is not null", Long.class);
+        jdbcTemplate.execute("truncate table member");
+        assertThat(audited).isEqualTo(members);
+    }
+
+    @Test
+    void perEntity() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findAll().forEach(member -> member.setAge(member.getAge() + 1)));
+        report("per entity", System.nanoTime() - start);
+    }
+
+    @Test
+    void bulk() {
+        long start = System.nanoTime();
+        int updated = memberRepository.bulkAgePlus(0);
+        report("bulk (audited)", System.nanoTime() - start);
+
+        assertThat(updated).isEqualTo(members);
+    }
+
+    private void report(String name, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-18s rows=%d elapsed=%.2fs throughput=%.0f rows/s%n", name, members, seconds, members / seconds);
+    }
+}
@@ -0,0 +1,70 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * saveAll vs saveAllBatched 처리량(rows/s)과 최대 힙 사용량
+ *
+ * ./gradlew benchmark --tests '*BulkInsertBenchmarkTest' -Dbenchmark.rows=1000000
+ * saveAll 은 모든 엔티티를 영속성 컨텍스트에 보관하므로 100만 건에서는 충분한 힙(-Xmx)이 필요하다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class BulkInsertBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @Test
+    void saveAll() {
+        int rows = Benchmarks.intProperty("rows", 100_000);
+
+        Benchmarks.resetPeakHeap();
+        long start = System.nanoTime();
+
+        List<Member> members = IntStream.range(0, rows)
+                .mapToObj(i -> new Member("member" + i, i % 100))
+                .toList();
+        memberRepository.saveAll(members);
+
+        report("saveAll", rows, System.nanoTime() - start);
+    }
+
+    @Test
+    void saveAllBatched() {
+        int rows = Benchmarks.intProperty("rows", 100_000);
+
+        Benchmarks.resetPeakHeap();
+        long start = System.nanoTime();
+
+        memberRepository.saveAllBatched(IntStream.range(0, rows)
+                .mapToObj(i -> new Member("member" + i, i % 100)));
+
+        report("saveAllBatched", rows, System.nanoTime() - start);
+    }
+
+    private void report(String name, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-16s rows=%d elapsed=%.2fs throughput=%.0f rows/s peakHeap=%dMB%n",
+                name, rows, seconds, rows / seconds, Benchmarks.peakHeap() / (1024 * 1024));
+    }
+}
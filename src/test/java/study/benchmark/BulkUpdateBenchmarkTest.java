@@ -0,0 +1,62 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.repository.MemberRepository;
+import study.repository.bulk.BulkUpdateResult;
+
+/**
+ * 단일 UPDATE(bulkAgePlus) vs 구간 분할 UPDATE(bulkAgePlusChunked)
+ * 처리량(rows/s)과 가장 긴 트랜잭션 시간(행 잠금 유지 시간)을 비교한다.
+ *
+ * ./gradlew benchmark --tests '*BulkUpdateBenchmarkTest' -Dbenchmark.members=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class BulkUpdateBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Benchmarks.seedMembers(jdbcTemplate, Benchmarks.intProperty("members", 200_000), 0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @Test
+    void singleStatement() {
+        long start = System.nanoTime();
+        int updated = memberRepository.bulkAgePlus(0);
+        long elapsed = System.nanoTime() - start;
+
+        // 단일 UPDATE 는 트랜잭션 전체 시간 동안 행을 잠근다.
+        System.out.printf("%-28s rows=%d %10.0f rows/s maxLockHold=%dms%n", "single statement", updated,
+                updated / (elapsed / 1_000_000_000.0), elapsed / 1_000_000);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1000, 1", "10000, 1", "10000, 4"})
+    void chunked(int chunkSize, int parallelism) {
+        BulkUpdateResult result = memberRepository.bulkAgePlusChunked(0, chunkSize, parallelism);
+
+        System.out.printf("%-28s rows=%d %10.0f rows/s maxLockHold=%dms%n",
+                "chunk=" + chunkSize + " parallel=" + parallelism, result.updatedRows(),
+                result.rowsPerSecond(), result.maxChunkElapsed().toMillis());
+    }
+}
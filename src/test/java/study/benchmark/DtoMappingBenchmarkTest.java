@@ -0,0 +1,75 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.dto.MemberDTO;
+import study.repository.MemberRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 엔티티 적재 후 변환(findSliceBy + map(MemberDTO::new)) vs DTO 직접 조회(findProjectedSliceBy)
+ * 두 경로 모두 teamName 을 채운다. 엔티티 경로는 팀을 배치 페치로 추가 조회한다.
+ *
+ * ./gradlew benchmark --tests '*DtoMappingBenchmarkTest' -Dbenchmark.members=200000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+@Transactional
+class DtoMappingBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void entityMapVsDtoQuery() {
+        int members = Benchmarks.intProperty("members", 100_000);
+        Benchmarks.seedTeams(jdbcTemplate, 100);
+        Benchmarks.seedMembers(jdbcTemplate, members, 100);
+
+        for (int size : new int[]{20, 2000}) {
+            run("entity + map", members, size,
+                    pageable -> memberRepository.findSliceBy(pageable).map(MemberDTO::new));
+            run("dto query", members, size,
+                    pageable -> memberRepository.findProjectedSliceBy(pageable, MemberDTO.class));
+        }
+    }
+
+    private void run(String name, int members, int size, Function<Pageable, Slice<MemberDTO>> query) {
+        int pages = Math.max(members / size - 1, 1);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] allocated = {0, 0};
+
+        double millis = Benchmarks.measure(3, 20, () -> {
+            Pageable pageable = PageRequest.of(ThreadLocalRandom.current().nextInt(pages), size, Sort.by("id"));
+
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            query.apply(pageable).forEach(MemberDTO::getTeamName);
+            entityManager.clear();
+            allocated[0] += threads.getCurrentThreadAllocatedBytes() - bytes;
+            allocated[1]++;
+        });
+
+        System.out.printf("%-13s size=%-5d %10.3f ms/page alloc=%.1f KB/page%n", name, size, millis,
+                allocated[0] / (double) allocated[1] / 1024);
+    }
+}
@@ -0,0 +1,73 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+import study.repository.example.ExampleCacheStats;
+import study.repository.example.ExampleQueryCompiler;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 구조의 Example 을 반복 조회할 때 초당 쿼리 수
+ * - Spring Data findAll(Example): 매번 Criteria 쿼리 생성
+ * - findAllCompiled(Example): 구조별로 캐시된 JPQL
+ * - findAllCompiled(List): probe 여러 개를 한 번에 조회
+ *
+ * ./gradlew benchmark --tests '*ExampleBenchmarkTest' -Dbenchmark.probes=100
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+@Transactional
+class ExampleBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ExampleQueryCompiler exampleQueryCompiler;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void repeatedProbes() {
+        Benchmarks.seedMembers(jdbcTemplate, Benchmarks.intProperty("members", 10_000), 0);
+
+        int probes = Benchmarks.intProperty("probes", 100);
+        ExampleMatcher matcher = ExampleMatcher.matching().withIgnorePaths("age");
+        List<Example<Member>> examples = IntStream.rangeClosed(1, probes)
+                .mapToObj(i -> Example.of(new Member("member" + i), matcher))
+                .toList();
+
+        run("criteria", probes, () -> examples.forEach(memberRepository::findAll));
+        run("compiled", probes, () -> examples.forEach(memberRepository::findAllCompiled));
+        run("compiled batch", probes, () -> memberRepository.findAllCompiled(examples));
+
+        ExampleCacheStats stats = exampleQueryCompiler.stats();
+        System.out.printf("statement cache hits=%d misses=%d hitRate=%.3f%n", stats.hits(), stats.misses(), stats.hitRate());
+    }
+
+    private void run(String name, int probes, Runnable task) {
+        double millis = Benchmarks.measure(3, 10, () -> {
+            task.run();
+            entityManager.clear();
+        });
+
+        System.out.printf("%-16s %10.3f ms  %10.0f probes/s%n", name, millis, probes / (millis / 1000));
+    }
+}
@@ -0,0 +1,107 @@
+package study.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.dto.MemberDTO;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * List 적재 후 직렬화 vs 커서 스트리밍 직렬화
+ * 최대 힙 사용량과 첫 바이트가 나오기까지의 시간(TTFB)을 비교한다.
+ *
+ * ./gradlew benchmark --tests '*ExportBenchmarkTest' -Dbenchmark.members=500000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@Transactional
+class ExportBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void listVsStream() {
+        int members = Benchmarks.intProperty("members", 200_000);
+        Benchmarks.seedTeams(jdbcTemplate, 100);
+        Benchmarks.seedMembers(jdbcTemplate, members, 100);
+
+        FirstByteOutputStream listOut = new FirstByteOutputStream();
+        Benchmarks.resetPeakHeap();
+        long start = System.nanoTime();
+        List<Member> all = memberRepository.findAll();
+        all.forEach(member -> write(listOut, member));
+        report("list", start, listOut);
+
+        // 목록 방식에서 적재한 엔티티를 모두 비운 뒤 측정한다.
+        all = null;
+        entityManager.clear();
+
+        FirstByteOutputStream streamOut = new FirstByteOutputStream();
+        Benchmarks.resetPeakHeap();
+        start = System.nanoTime();
+        memberRepository.forEachMember(500, member -> write(streamOut, member));
+        report("stream", start, streamOut);
+    }
+
+    private void write(OutputStream out, Member member) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(
+                    new MemberDTO(member.getId(), member.getUsername(), member.getTeam().getName())));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void report(String name, long start, FirstByteOutputStream out) {
+        System.out.printf("%-8s ttfb=%dms total=%dms bytes=%d peakHeap=%dMB%n", name,
+                (out.firstByteAt - start) / 1_000_000, (System.nanoTime() - start) / 1_000_000,
+                out.bytes, Benchmarks.peakHeap() / (1024 * 1024));
+    }
+
+    /**
+     * 기록된 바이트 수와 첫 바이트 기록 시각만 남기고 버린다.
+     */
+    static class FirstByteOutputStream extends OutputStream {
+        long firstByteAt;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            if (bytes++ == 0) {
+                firstByteAt = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0) {
+                firstByteAt = System.nanoTime();
+            }
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.repository.MemberRepository;
+import study.repository.index.IndexAdvice;
+import study.repository.index.IndexAdvisor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엔티티에 선언한 인덱스가 없을 때와 있을 때의 실행 계획과 수행 시간
+ * 인덱스를 지웠다가 다시 만드므로 DDL 이 자동 커밋되는 점을 고려해 트랜잭션을 걸지 않는다.
+ * 중간에 실패해도 같은 컨텍스트의 다른 테스트가 인덱스 없는 스키마를 쓰지 않도록 @AfterEach 에서 다시 만든다.
+ *
+ * ./gradlew benchmark --tests '*IndexBenchmarkTest' -Dbenchmark.members=200000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("benchmark")
+class IndexBenchmarkTest {
+    private static final Map<String, String> INDEXES = Map.of(
+            "idx_member_username_age", "create index if not exists idx_member_username_age on member (username, age)",
+            "idx_member_age_username", "create index if not exists idx_member_age_username on member (age, username)",
+            "idx_member_team_id", "create index if not exists idx_member_team_id on member (team_id)");
+
+    private static final List<String> SOURCES = List.of(
+            "MemberRepository.findByUsernameAndAgeGreaterThan",
+            "MemberRepository.findPageByAge",
+            "Team.members");
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void beforeAndAfter() {
+        Benchmarks.seedTeams(jdbcTemplate, 100);
+        Benchmarks.seedMembers(jdbcTemplate, Benchmarks.intProperty("members", 100_000), 100);
+        jdbcTemplate.execute("analyze");
+
+        INDEXES.keySet().forEach(index -> jdbcTemplate.execute("drop index if exists " + index));
+        Map<String, Double> before = measure("before");
+
+        INDEXES.values().forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("analyze");
+        Map<String, Double> after = measure("after");
+
+        before.forEach((name, millis) -> System.out.printf("%-28s before=%10.3f ms  after=%10.3f ms%n",
+                name, millis, after.get(name)));
+    }
+
+    @AfterEach
+    void restore() {
+        INDEXES.values().forEach(jdbcTemplate::execute);
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    private Map<String, Double> measure(String phase) {
+        for (IndexAdvice advice : indexAdvisor.advise()) {
+            if (SOURCES.contains(advice.source())) {
+                System.out.printf("[%s] %s%n  %s%n", phase, advice, indexAdvisor.explain(advice).replaceAll("\\s+", " "));
+            }
+        }
+
+        Map<String, Double> latencies = new LinkedHashMap<>();
+        latencies.put("findByUsernameAndAgeGreaterThan", Benchmarks.measure(5, 50,
+                () -> memberRepository.findByUsernameAndAgeGreaterThan("member500", 10)));
+        latencies.put("findPageByAge", Benchmarks.measure(5, 50,
+                () -> memberRepository.findPageByAge(10, PageRequest.of(0, 20, Sort.by("username")))));
+        latencies.put("member by team_id", Benchmarks.measure(5, 50,
+                () -> jdbcTemplate.queryForList("select member_id from member where team_id = ?", Long.class, 7L)));
+        return latencies;
+    }
+}
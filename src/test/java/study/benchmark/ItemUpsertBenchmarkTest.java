@@ -0,0 +1,98 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.entity.Item;
+import study.repository.ItemRepository;
+import study.repository.bulk.UpsertMode;
+import study.repository.bulk.UpsertResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 식별자를 직접 할당하는 Item 의 대량 저장
+ * 절반은 조회 후 변경한 기존 Item, 절반은 새 Item 인 rows 건을 저장한다.
+ *
+ * - save: 건마다 트랜잭션 + SELECT 후 merge
+ * - saveAll: 한 트랜잭션이지만 건마다 SELECT 후 merge
+ * - upsertAll: IN 절 조회 후 INSERT / UPDATE 배치(CLASSIFY) 또는 MERGE 배치
+ *
+ * 세 방식 모두 커밋까지 포함하도록 리포지토리 호출 전후의 시각으로 잰다. (UpsertResult.elapsed 는 커밋 전까지만 잰다.)
+ *
+ * ./gradlew benchmark --tests '*ItemUpsertBenchmarkTest' -Dbenchmark.rows=100000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class ItemUpsertBenchmarkTest {
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    int rows;
+    List<Item> items;
+
+    @BeforeEach
+    void seed() {
+        rows = Benchmarks.intProperty("rows", 100_000);
+        itemRepository.upsertAll(IntStream.range(0, rows / 2)
+                .mapToObj(i -> new Item("item" + i, "old", i))
+                .toList(), UpsertMode.CLASSIFY);
+
+        // 기존 행은 조회 후 준영속 상태에서 변경한 Item (isNew = false), 나머지는 새 Item
+        List<Item> existing = itemRepository.findAll();
+        existing.forEach(item -> item.change("new", item.getPrice() + 1));
+
+        items = new ArrayList<>(existing);
+        IntStream.range(rows / 2, rows).forEach(i -> items.add(new Item("item" + i, "new", i)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        long updated = jdbcTemplate.queryForObject("select count(*) from item where name = 'new'", Long.class);
+        jdbcTemplate.execute("truncate table item");
+        assertThat(updated).isEqualTo(rows);
+    }
+
+    @Test
+    void save() {
+        long start = System.nanoTime();
+        items.forEach(itemRepository::save);
+        report("save", System.nanoTime() - start);
+    }
+
+    @Test
+    void saveAll() {
+        long start = System.nanoTime();
+        itemRepository.saveAll(items);
+        report("saveAll", System.nanoTime() - start);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = UpsertMode.class, names = {"CLASSIFY", "MERGE"})
+    void upsertAll(UpsertMode mode) {
+        long start = System.nanoTime();
+        UpsertResult result = itemRepository.upsertAll(items, mode);
+        report("upsertAll " + mode, System.nanoTime() - start);
+        assertThat(result.rows()).isEqualTo(rows);
+    }
+
+    private void report(String name, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-20s rows=%d elapsed=%.2fs throughput=%.0f rows/s%n", name, rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,123 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.repository.MemberRepository;
+import study.repository.retry.RetryOnConflictInterceptor;
+import study.repository.retry.RetryStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * N 개 쓰기 스레드가 hot 명의 회원 나이를 1씩 올릴 때의 처리량
+ * - pessimistic: findLockByUsername(PESSIMISTIC_WRITE) 후 변경, 같은 회원에 대한 쓰기는 잠금 대기로 직렬화된다.
+ * - optimistic: addAge(@Version + @RetryOnConflict), 충돌한 쓰기만 백오프 후 다시 실행한다.
+ *
+ * hot 이 작을수록 충돌이 잦다. 모든 변경이 반영되었는지(나이 합계) 함께 확인한다.
+ *
+ * ./gradlew benchmark --tests '*OptimisticLockBenchmarkTest' -Dbenchmark.writers=16 -Dbenchmark.updates=500
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+class OptimisticLockBenchmarkTest {
+    private static final int MEMBERS = 1_000;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    RetryOnConflictInterceptor retryOnConflictInterceptor;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Benchmarks.seedMembers(jdbcTemplate, MEMBERS, 0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 256})
+    void pessimistic(int hot) {
+        run("pessimistic", hot, id -> transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findLockByUsername("member" + id)
+                        .forEach(member -> member.setAge(member.getAge() + 1))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 256})
+    void optimistic(int hot) {
+        RetryStats before = retryOnConflictInterceptor.stats();
+
+        run("optimistic", hot, id -> memberRepository.addAge((long) id, 1));
+
+        RetryStats after = retryOnConflictInterceptor.stats();
+        System.out.printf("%-28s conflicts=%d retries=%d exhausted=%d backoff=%dms%n", "",
+                after.conflicts() - before.conflicts(), after.retries() - before.retries(),
+                after.exhausted() - before.exhausted(), after.backoffMillis() - before.backoffMillis());
+    }
+
+    private void run(String name, int hot, IntConsumer update) {
+        int writers = Benchmarks.intProperty("writers", 8);
+        int updates = Benchmarks.intProperty("updates", 200);
+        long ageBefore = totalAge();
+
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < writers; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < updates; j++) {
+                    try {
+                        update.accept(ThreadLocalRandom.current().nextInt(1, hot + 1));
+                        succeeded.increment();
+                    } catch (ConcurrencyFailureException e) {
+                        failed.increment();
+                    }
+                }
+            }, executor));
+        }
+        futures.forEach(CompletableFuture::join);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        System.out.printf("%-28s %8.0f updates/s succeeded=%d failed=%d%n", name + " writers=" + writers + " hot=" + hot,
+                succeeded.sum() / (elapsed / 1_000_000_000.0), succeeded.sum(), failed.sum());
+
+        assertThat(totalAge() - ageBefore).isEqualTo(succeeded.sum());
+    }
+
+    private long totalAge() {
+        return jdbcTemplate.queryForObject("select sum(age) from member", Long.class);
+    }
+}
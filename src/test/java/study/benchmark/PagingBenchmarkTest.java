@@ -0,0 +1,72 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.Map;
+
+/**
+ * Offset 페이징 vs Keyset 페이징
+ * 페이지가 깊어질수록 offset 은 앞의 행을 모두 읽고 버리지만 keyset 은 인덱스 탐색 후 바로 읽는다.
+ *
+ * ./gradlew benchmark --tests '*PagingBenchmarkTest' -Dbenchmark.members=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@Transactional
+class PagingBenchmarkTest {
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void offsetVsKeyset() {
+        int members = Benchmarks.intProperty("members", 200_000);
+        Benchmarks.seedMembers(jdbcTemplate, members, 0);
+
+        System.out.printf("%-10s %12s %12s%n", "page", "offset(ms)", "keyset(ms)");
+
+        for (int page = 0; (long) page * PAGE_SIZE < members; page = page == 0 ? 10 : page * 10) {
+            int offset = page * PAGE_SIZE;
+
+            double offsetMillis = Benchmarks.measure(3, 10, () -> {
+                entityManager.createQuery("select m from Member m order by m.id", Member.class)
+                        .setFirstResult(offset)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList();
+                entityManager.clear();
+            });
+
+            // 시드 데이터의 member_id 는 연속이므로 직전 페이지의 마지막 키를 바로 계산할 수 있다.
+            ScrollPosition position = offset == 0
+                    ? ScrollPosition.keyset()
+                    : ScrollPosition.forward(Map.of("id", (long) offset));
+
+            double keysetMillis = Benchmarks.measure(3, 10, () -> {
+                memberRepository.findScrollByOrderByIdAsc(position, Limit.of(PAGE_SIZE));
+                entityManager.clear();
+            });
+
+            System.out.printf("%-10d %12.3f %12.3f%n", page, offsetMillis, keysetMillis);
+        }
+    }
+}
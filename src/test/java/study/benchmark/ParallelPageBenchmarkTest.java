@@ -0,0 +1,59 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.entity.Member;
+import study.repository.MemberRepository;
+import study.repository.async.ParallelPageExecutor;
+
+import java.util.function.Supplier;
+
+/**
+ * Page 조회 시 content / count 순차 실행과 병렬 실행의 수행 시간
+ * 호출 스레드에 트랜잭션이 없어야 병렬로 실행되므로 테스트에 트랜잭션을 걸지 않는다.
+ *
+ * ./gradlew benchmark --tests '*ParallelPageBenchmarkTest' -Dbenchmark.members=200000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+class ParallelPageBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ParallelPageExecutor parallelPageExecutor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sequentialVersusParallel() {
+        Benchmarks.seedMembers(jdbcTemplate, Benchmarks.intProperty("members", 100_000), 0);
+
+        // 정렬 컬럼에 인덱스가 없으므로 content 도 count 와 비슷하게 전체를 읽는다.
+        Pageable pageable = PageRequest.of(10, 20, Sort.by("username"));
+
+        run("sequential", () -> memberRepository.findPageByAge(10, pageable));
+        run("parallel", () -> parallelPageExecutor.execute(pageable,
+                p -> memberRepository.findContentByAge(10, p),
+                () -> memberRepository.countByAge(10)));
+
+        jdbcTemplate.update("delete from member");
+    }
+
+    private void run(String name, Supplier<Page<Member>> query) {
+        long[] total = {0};
+        double millis = Benchmarks.measure(5, 20, () -> total[0] = query.get().getTotalElements());
+
+        System.out.printf("%-12s total=%-8d %10.3f ms%n", name, total[0], millis);
+    }
+}
@@ -0,0 +1,141 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.metrics.ConnectionPoolMetrics;
+import study.metrics.ConnectionPoolStats;
+import study.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * findLockByUsername(PESSIMISTIC_WRITE)이 같은 회원에 몰려 커넥션을 잡고 있는 동안
+ * 단순 조회가 커넥션을 얻지 못하는 상황(풀 고갈)을 재현한다.
+ *
+ * 잠금을 잡은 트랜잭션은 holdMillis 동안 커넥션을 쥐고 있고, 잠금을 기다리는 트랜잭션도 커넥션을 쥔 채 대기한다.
+ * 고정 크기 풀과 자동 조정 풀의 커넥션 대기 시간 / 타임아웃을 비교한다.
+ *
+ * ./gradlew benchmark --tests '*PoolExhaustionBenchmarkTest' -Dbenchmark.lockers=20 -Dbenchmark.readers=20
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "spring.datasource.hikari.minimum-idle=5",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "spring.datasource.hikari.leak-detection-threshold=2000",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "study.metrics.enabled=true"
+})
+@ActiveProfiles("benchmark")
+class PoolExhaustionBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    void run(String name) throws Exception {
+        Benchmarks.seedMembers(jdbcTemplate, 1_000, 0);
+
+        int lockers = Benchmarks.intProperty("lockers", 20);
+        int readers = Benchmarks.intProperty("readers", 20);
+        int rounds = Benchmarks.intProperty("rounds", 20);
+        long holdMillis = Benchmarks.intProperty("holdMillis", 50);
+
+        LongAdder reads = new LongAdder();
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(lockers + readers);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < lockers; i++) {
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            memberRepository.findLockByUsername("member1");
+                            sleep(holdMillis);
+                        });
+                    } catch (DataAccessException e) {
+                        failures.increment();
+                    }
+                }
+            }));
+        }
+        for (int i = 0; i < readers; i++) {
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < rounds * 5; round++) {
+                    try {
+                        memberRepository.findById(ThreadLocalRandom.current().nextLong(2, 1_000));
+                        reads.increment();
+                    } catch (DataAccessException e) {
+                        failures.increment();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        ConnectionPoolStats stats = connectionPoolMetrics.stats().values().iterator().next();
+        System.out.printf("%-9s %6.1f s  reads=%-6d failures=%-5d max=%-3d maxPending=%-4d timeouts=%-5d " +
+                        "acquire p50=%.3f ms p99=%.3f ms  leakSuspects=%d%n",
+                name, seconds, reads.sum(), failures.sum(), stats.max(), stats.maxPending(), stats.timeouts(),
+                stats.acquisition().p50Millis(), stats.acquisition().p99Millis(), stats.leakSuspects());
+
+        jdbcTemplate.update("delete from member");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "study.datasource.pool-sizing.enabled=false")
+    class Fixed {
+        @Test
+        void lockContention() throws Exception {
+            run("fixed");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "study.datasource.pool-sizing.enabled=true",
+            "study.datasource.pool-sizing.interval=200ms",
+            "study.datasource.pool-sizing.max-size=30"
+    })
+    class Adaptive {
+        @Test
+        void lockContention() throws Exception {
+            run("adaptive");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package study.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.dto.MemberDTO;
+import study.repository.MemberRepository;
+import study.repository.projection.NestedClosedProjection;
+import study.repository.projection.UsernameOnly;
+import study.repository.projection.UsernameOnlyDTO;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Spring Data 프로젝션(findProjectionsByUsername) vs 컴파일된 프로젝션(findProjectedByUsername)
+ * 같은 username 을 가진 행 전체를 프로젝션 타입별로 조회하고 접근자를 모두 호출한다.
+ *
+ * ./gradlew benchmark --tests '*ProjectionBenchmarkTest' -Dbenchmark.members=50000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@Transactional
+class ProjectionBenchmarkTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void projectionTypes() {
+        int members = Benchmarks.intProperty("members", 20_000);
+        Benchmarks.seedTeams(jdbcTemplate, 100);
+        Benchmarks.seedMembers(jdbcTemplate, members, 100);
+        jdbcTemplate.update("update member set username = 'member'");
+
+        run("open UsernameOnly (spring data)",
+                () -> memberRepository.findProjectionsByUsername("member", UsernameOnly.class),
+                UsernameOnly::getUsername);
+        run("nested closed (spring data)",
+                () -> memberRepository.findProjectionsByUsername("member", NestedClosedProjection.class),
+                projection -> projection.getTeam().getName());
+        run("nested closed (compiled)",
+                () -> memberRepository.findProjectedByUsername("member", NestedClosedProjection.class),
+                projection -> projection.getTeam().getName());
+        run("UsernameOnlyDTO (spring data)",
+                () -> memberRepository.findProjectionsByUsername("member", UsernameOnlyDTO.class),
+                UsernameOnlyDTO::getUsername);
+        run("UsernameOnlyDTO (compiled)",
+                () -> memberRepository.findProjectedByUsername("member", UsernameOnlyDTO.class),
+                UsernameOnlyDTO::getUsername);
+        run("MemberDTO (compiled)",
+                () -> memberRepository.findProjectedByUsername("member", MemberDTO.class),
+                MemberDTO::getTeamName);
+    }
+
+    private <T> void run(String name, Supplier<List<T>> query, Function<T, Object> accessor) {
+        double millis = Benchmarks.measure(3, 10, () -> {
+            query.get().forEach(accessor::apply);
+            entityManager.clear();
+        });
+
+        System.out.printf("%-32s %10.3f ms/query%n", name, millis);
+    }
+}
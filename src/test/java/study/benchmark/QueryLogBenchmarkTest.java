@@ -0,0 +1,80 @@
+package study.benchmark;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import study.repository.MemberRepository;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 쿼리 로그 방식별 단건 조회 처리량 (로그 없음 / p6spy / 표본 로그)
+ * 각 방식은 DataSource 구성이 달라 별도 컨텍스트로 실행한다.
+ *
+ * ./gradlew benchmark --tests '*QueryLogBenchmarkTest' -Dbenchmark.queries=50000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+class QueryLogBenchmarkTest {
+    private static final int MEMBERS = 10_000;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    void run(String name) {
+        Benchmarks.seedMembers(jdbcTemplate, MEMBERS, 0);
+        int queries = Benchmarks.intProperty("queries", 50_000);
+
+        double millis = Benchmarks.measure(1, 3, () -> {
+            for (int i = 0; i < queries; i++) {
+                memberRepository.findById(ThreadLocalRandom.current().nextLong(1, MEMBERS + 1));
+            }
+        });
+        System.out.printf("%-8s %10.0f queries/s%n", name, queries / (millis / 1000));
+
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Nested
+    @TestPropertySource(properties = "study.query-log.mode=off")
+    class Off {
+        @Test
+        void findById() {
+            run("off");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "study.query-log.mode=p6spy",
+            "decorator.datasource.enabled=true",
+            "logging.level.p6spy=info"
+    })
+    class P6spy {
+        @Test
+        void findById() {
+            run("p6spy");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "study.query-log.mode=sampled",
+            "study.query-log.sample-rate=0.01"
+    })
+    class Sampled {
+        @Test
+        void findById() {
+            run("sampled");
+        }
+    }
+}
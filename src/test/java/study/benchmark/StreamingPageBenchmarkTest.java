@@ -0,0 +1,119 @@
+package study.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.controller.MemberController;
+import study.repository.count.CountStrategy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 페이지 크기 2000 응답 한 건당 할당량과 지연 시간(p50 / p99)
+ * - page: listDto, DTO 생성자 표현식으로 조회한 Page<MemberDTO> 를 모아 Jackson 으로 직렬화
+ * - stream: listStream, 결과 집합에서 DTO(teamName 포함, 팀 join)를 읽는 즉시 직렬화
+ *
+ * HTTP 계층을 빼고 요청 스레드에서 직접 응답 본문을 써서, 스레드 단위 할당량을 정확히 잰다.
+ * 요청마다 트랜잭션(OSIV 대신)을 열고 count 는 매번 실행(exact)한다.
+ *
+ * ./gradlew benchmark --tests '*StreamingPageBenchmarkTest' -Dbenchmark.members=200000 -Dbenchmark.requests=500
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@ActiveProfiles("benchmark")
+class StreamingPageBenchmarkTest {
+    private static final int PAGE_SIZE = 2000;
+
+    @Autowired
+    MemberController memberController;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    int members;
+
+    @BeforeEach
+    void seed() {
+        members = Benchmarks.intProperty("members", 100_000);
+        Benchmarks.seedTeams(jdbcTemplate, 100);
+        Benchmarks.seedMembers(jdbcTemplate, members, 100);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table member");
+        jdbcTemplate.execute("delete from team");
+    }
+
+    @Test
+    void pageVsStream() {
+        run("page", pageable -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                objectMapper.writeValue(OutputStream.nullOutputStream(), memberController.listDto(pageable, CountStrategy.EXACT));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        run("stream", pageable -> {
+            try {
+                memberController.listStream(pageable, CountStrategy.EXACT).getBody().writeTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void run(String name, Consumer<Pageable> request) {
+        int requests = Benchmarks.intProperty("requests", 300);
+        int pages = members / PAGE_SIZE;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < requests / 10; i++) {
+            request.accept(randomPage(pages));
+        }
+
+        long[] nanos = new long[requests];
+        long allocated = 0;
+        for (int i = 0; i < requests; i++) {
+            Pageable pageable = randomPage(pages);
+
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            request.accept(pageable);
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%-7s size=%d alloc=%.1f MB/request p50=%.2fms p99=%.2fms%n", name, PAGE_SIZE,
+                allocated / (double) requests / (1024 * 1024),
+                Benchmarks.percentile(nanos, 50), Benchmarks.percentile(nanos, 99));
+    }
+
+    private static Pageable randomPage(int pages) {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(Math.max(pages - 1, 1)), PAGE_SIZE, Sort.by("id"));
+    }
+}
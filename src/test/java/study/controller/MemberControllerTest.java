@@ -0,0 +1,57 @@
+package study.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void countStrategyParameter() throws Exception {
+        mockMvc.perform(get("/members").param("count", "Estimated"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/members").param("count", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollCursorMustMatchOrder() throws Exception {
+        // given
+        for (int i = 1; i <= 3; i++) {
+            memberRepository.save(new Member("member" + i, 10));
+        }
+
+        String body = mockMvc.perform(get("/members/scroll").param("size", "1").param("order", "username"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        // when / then
+        mockMvc.perform(get("/members/scroll").param("size", "1").param("order", "username").param("cursor", cursor))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/members/scroll").param("size", "1").param("order", "id").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/scroll").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,101 @@
+package study.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.entity.Team;
+import study.repository.MemberRepository;
+import study.repository.TeamRepository;
+import study.repository.count.CountQuery;
+import study.repository.count.CountStrategy;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class StreamingPageWriterTest {
+    @Autowired
+    StreamingPageWriter streamingPageWriter;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManager entityManager;
+
+    AtomicInteger counts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        Team team = teamRepository.save(new Team("teamA"));
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("member" + i, i, team));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writesContentThenPage() throws Exception {
+        // when
+        JsonNode json = write(PageRequest.of(0, 3, Sort.by("username")), CountStrategy.EXACT);
+
+        // then
+        assertThat(json.get("content")).hasSize(3);
+        assertThat(json.get("content").get(0).get("username").asText()).isEqualTo("member0");
+        assertThat(json.get("content").get(0).get("teamName").asText()).isEqualTo("teamA");
+
+        JsonNode page = json.get("page");
+        assertThat(page.get("size").asInt()).isEqualTo(3);
+        assertThat(page.get("number").asInt()).isEqualTo(0);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(page.get("totalPages").asInt()).isEqualTo(2);
+        assertThat(counts.get()).isEqualTo(1);
+
+        // content 가 page 보다 먼저 나온다.
+        assertThat(json.fieldNames()).toIterable().containsExactly("content", "page");
+    }
+
+    @Test
+    void lastPageSkipsCount() throws Exception {
+        // when
+        JsonNode json = write(PageRequest.of(1, 3, Sort.by("username")), CountStrategy.EXACT);
+
+        // then
+        assertThat(json.get("content")).hasSize(2);
+        assertThat(json.get("content").get(1).get("username").asText()).isEqualTo("member4");
+        assertThat(json.get("page").get("totalElements").asLong()).isEqualTo(5);
+        assertThat(counts.get()).isZero();
+    }
+
+    private JsonNode write(Pageable pageable, CountStrategy strategy) throws Exception {
+        CountQuery countQuery = CountQuery.table("members-stream-test", "member", () -> {
+            counts.incrementAndGet();
+            return memberRepository.count();
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamingPageWriter.write(pageable, countQuery, strategy,
+                        (offset, limit) -> memberRepository.streamMemberDto(offset, limit, pageable.getSort()))
+                .writeTo(out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+}
@@ -0,0 +1,74 @@
+package study.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.metrics.ConnectionPoolMetrics;
+import study.metrics.ConnectionPoolStats;
+import study.repository.async.AsyncQueryExecutor;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스케줄러 대신 adjust() 를 직접 호출한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "study.datasource.pool-sizing.enabled=true",
+        "study.datasource.pool-sizing.interval=1h",
+        "study.datasource.pool-sizing.min-size=2",
+        "study.datasource.pool-sizing.step=2"
+})
+class PoolAutoSizerTest {
+    @Autowired
+    PoolAutoSizer poolAutoSizer;
+
+    @Autowired
+    ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    AsyncQueryExecutor asyncQueryExecutor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void growsWhenConnectionsAreWaitedFor() throws Exception {
+        // given
+        HikariDataSource dataSource = connectionPoolMetrics.dataSources().get(0);
+        jdbcTemplate.queryForObject("select 1", Integer.class);
+        connectionPoolMetrics.window(dataSource.getPoolName());
+
+        List<Connection> held = new ArrayList<>();
+        held.add(dataSource.getConnection());
+        held.add(dataSource.getConnection());
+
+        // 풀이 비어 있으므로 반납될 때까지 기다린다.
+        CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(
+                () -> jdbcTemplate.queryForObject("select 1", Integer.class));
+        Thread.sleep(50);
+        held.get(0).close();
+        waiting.join();
+        held.get(1).close();
+
+        // when
+        poolAutoSizer.adjust();
+
+        // then
+        assertThat(dataSource.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(4);
+        assertThat(asyncQueryExecutor.getConcurrency()).isEqualTo(4);
+        assertThat(poolAutoSizer.history()).last()
+                .satisfies(resize -> assertThat(resize.to()).isEqualTo(4));
+
+        ConnectionPoolStats stats = connectionPoolMetrics.stats().get(dataSource.getPoolName());
+        assertThat(stats.acquisition().maxMillis()).isGreaterThanOrEqualTo(40);
+    }
+}
@@ -0,0 +1,89 @@
+package study.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 두 개(primary, replica)로 라우팅을 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "study.datasource.replica.enabled=true",
+        "study.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "study.datasource.replica.username=sa",
+        "study.datasource.replica.lag-check-interval=0s"
+})
+class ReplicaRoutingDataSourceTest {
+    static final AtomicReference<Duration> lag = new AtomicReference<>(Duration.ZERO);
+
+    @TestConfiguration
+    static class LagProbeConfig {
+        @Bean
+        ReplicaLagProbe replicaLagProbe() {
+            return lag::get;
+        }
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    HikariDataSource replicaDataSource;
+
+    @AfterEach
+    void resetLag() {
+        lag.set(Duration.ZERO);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(databaseName(true)).isEqualTo("REPLICA");
+        assertThat(databaseName(false)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        lag.set(Duration.ofMinutes(1));
+
+        assertThat(databaseName(true)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void poolsUseHikariProperties() {
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("main");
+        assertThat(replicaDataSource.getPoolName()).isEqualTo("main-replica");
+
+        assertThat(primaryDataSource.getConnectionTimeout()).isEqualTo(3000);
+        assertThat(primaryDataSource.getLeakDetectionThreshold()).isEqualTo(10000);
+        assertThat(replicaDataSource.getConnectionTimeout()).isEqualTo(3000);
+        assertThat(replicaDataSource.getLeakDetectionThreshold()).isEqualTo(10000);
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
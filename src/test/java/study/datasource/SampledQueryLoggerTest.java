@@ -0,0 +1,101 @@
+package study.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "study.query-log.mode=sampled",
+        "study.query-log.sample-rate=0"
+})
+class SampledQueryLoggerTest {
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    SampledQueryLogger sampledQueryLogger;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void wrapsApplicationDataSource() {
+        // when
+        QueryLogStats before = sampledQueryLogger.stats();
+        jdbcTemplate.queryForObject("select count(*) from member where username = ?", Long.class, "member1");
+
+        // then
+        assertThat(dataSource).isInstanceOf(QueryLoggingDataSource.class);
+        assertThat(sampledQueryLogger.stats().statements()).isGreaterThan(before.statements());
+    }
+
+    @Test
+    void slowQueriesAlwaysLogged() {
+        // given
+        QueryLogProperties properties = new QueryLogProperties();
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ofMillis(10));
+
+        try (SampledQueryLogger logger = new SampledQueryLogger(properties)) {
+            // when
+            logger.record("select 1", Duration.ofMillis(1).toNanos(), null, 0);
+            logger.record("select 2 where a = ?", Duration.ofMillis(50).toNanos(), new Object[]{"a"}, 0);
+
+            // then
+            assertThat(logger.stats()).isEqualTo(new QueryLogStats(2, 0, 1, 0));
+        }
+    }
+
+    @Test
+    void dropsWhenBufferIsFull() {
+        // given
+        QueryLogProperties properties = new QueryLogProperties();
+        properties.setSampleRate(1);
+        properties.setBufferSize(2);
+
+        try (SampledQueryLogger logger = new SampledQueryLogger(properties)) {
+            // when
+            for (int i = 0; i < 10_000; i++) {
+                logger.record("select 1", 0, null, 0);
+            }
+
+            // then
+            QueryLogStats stats = logger.stats();
+            assertThat(stats.sampled()).isEqualTo(10_000);
+            assertThat(stats.dropped()).isPositive();
+        }
+    }
+
+    @Test
+    void writerSleepsUntilRecorded() throws InterruptedException {
+        // given
+        QueryLogProperties properties = new QueryLogProperties();
+        properties.setSampleRate(1);
+
+        try (SampledQueryLogger logger = new SampledQueryLogger(properties)) {
+            // 버퍼가 비어 있으면 시간 제한 없이 잠든다.
+            awaitIdle(logger);
+
+            // when
+            logger.record("select 1", 0, null, 0);
+
+            // then
+            awaitIdle(logger);
+        }
+    }
+
+    private static void awaitIdle(SampledQueryLogger logger) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((logger.pending() > 0 || logger.writerState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(logger.pending()).isZero();
+        assertThat(logger.writerState()).isEqualTo(Thread.State.WAITING);
+    }
+}
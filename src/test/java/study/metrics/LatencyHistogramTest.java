@@ -0,0 +1,32 @@
+package study.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+    @Test
+    void percentiles() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100_000); // 0.1ms
+        }
+        histogram.record(50_000_000); // 50ms
+
+        // then
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.maxMillis()).isEqualTo(50.0);
+        assertThat(snapshot.p50Millis()).isBetween(0.1, 0.2);
+        assertThat(snapshot.p99Millis()).isBetween(0.1, 0.2);
+        assertThat(snapshot.buckets().values()).containsExactly(99L, 1L);
+    }
+
+    @Test
+    void empty() {
+        assertThat(new LatencyHistogram().snapshot().p99Millis()).isZero();
+    }
+}
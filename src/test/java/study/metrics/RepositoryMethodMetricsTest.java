@@ -0,0 +1,82 @@
+package study.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import study.entity.Member;
+import study.repository.MemberRepository;
+import study.repository.TeamRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커넥션 획득이 기록되도록 트랜잭션 없이 리포지토리를 호출한다.
+ */
+@SpringBootTest
+class RepositoryMethodMetricsTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    RepositoryMethodMetrics repositoryMethodMetrics;
+
+    @Autowired
+    ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Test
+    void recordsRepositoryMethods() {
+        // given
+        long before = count("MemberRepository.findPageByAge");
+
+        // when
+        memberRepository.findPageByAge(10, PageRequest.of(0, 3));
+        memberRepository.findAllCompiled(List.of());
+
+        // then
+        Map<String, RepositoryMethodStats> stats = repositoryMethodMetrics.stats();
+        assertThat(count("MemberRepository.findPageByAge")).isEqualTo(before + 1);
+        assertThat(stats).containsKey("MemberRepository.findAllCompiled");
+        assertThat(stats.get("MemberRepository.findPageByAge").latency().p99Millis()).isGreaterThan(0);
+    }
+
+    @Test
+    void separatesInheritedMethodsByRepository() {
+        // given
+        long members = count("MemberRepository.findById");
+        long teams = count("TeamRepository.findById");
+
+        // when
+        // 상속한 findById 는 두 리포지토리가 같은 Method 객체를 사용한다.
+        memberRepository.findById(1L);
+        teamRepository.findById(1L);
+        teamRepository.findById(2L);
+
+        // then
+        assertThat(count("MemberRepository.findById")).isEqualTo(members + 1);
+        assertThat(count("TeamRepository.findById")).isEqualTo(teams + 2);
+    }
+
+    @Test
+    void recordsConnectionAcquisition() {
+        // when
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.deleteAllInBatch();
+
+        // then
+        assertThat(connectionPoolMetrics.stats()).isNotEmpty();
+        assertThat(connectionPoolMetrics.stats().values())
+                .allSatisfy(pool -> assertThat(pool.acquisition().count()).isPositive());
+    }
+
+    private long count(String name) {
+        RepositoryMethodStats stats = repositoryMethodMetrics.stats().get(name);
+        return stats == null ? 0 : stats.latency().count();
+    }
+}
@@ -1,9 +1,18 @@
 package study.repository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.entity.Item;
+import study.repository.bulk.UpsertMode;
+import study.repository.bulk.UpsertResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * 새로운 엔티티를 구별하는 방법
@@ -22,6 +31,11 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAllInBatch();
+    }
+
 //    @Test
 //    public void saveWithGeneratedValue() {
 //        Item item = new Item();
@@ -41,4 +55,57 @@ class ItemRepositoryTest {
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    /**
+     * save() 의 SELECT + merge 없이 IN 절 조회 한 번(CLASSIFY) 또는 MERGE 로 저장한다.
+     */
+    @ParameterizedTest
+    @EnumSource(value = UpsertMode.class, names = {"CLASSIFY", "MERGE"})
+    public void upsertAll(UpsertMode mode) {
+        // given
+        itemRepository.save(new Item("A", "old", 100));
+        Item saved = itemRepository.findById("A").get();
+
+        // when
+        UpsertResult result = itemRepository.upsertAll(List.of(
+                new Item("A", "new", 200),
+                new Item("B", "first", 300),
+                new Item("B", "last", 400)), mode);
+
+        // then
+        assertThat(result.rows()).isEqualTo(2);
+        if (mode == UpsertMode.CLASSIFY) {
+            assertThat(result.inserted()).isEqualTo(1);
+            assertThat(result.updated()).isEqualTo(1);
+        }
+
+        Item a = itemRepository.findById("A").get();
+        assertThat(a.getName()).isEqualTo("new");
+        assertThat(a.getPrice()).isEqualTo(200);
+        assertThat(a.getCreatedDate()).isEqualTo(saved.getCreatedDate());
+        assertThat(a.getLastModifiedDate()).isAfterOrEqualTo(saved.getLastModifiedDate());
+
+        Item b = itemRepository.findById("B").get();
+        assertThat(b.getPrice()).isEqualTo(400);
+        assertThat(b.isNew()).isFalse();
+    }
+
+    /**
+     * 호출하는 쪽에 트랜잭션이 없어도 upsertAll 이 직접 트랜잭션을 연다.
+     */
+    @Test
+    public void upsertAllWithoutTransaction() {
+        // when
+        UpsertResult result = itemRepository.upsertAll(List.of(new Item("A", "first", 100), new Item("B", "second", 200)));
+
+        // then
+        assertThat(result.rows()).isEqualTo(2);
+
+        Item a = itemRepository.findById("A").get();
+        Item b = itemRepository.findById("B").get();
+        assertThat(a.getPrice()).isEqualTo(100);
+        // 같은 트랜잭션에서 저장된 행은 같은 감사 시각을 갖는다.
+        assertThat(a.getLastModifiedDate()).isEqualTo(b.getLastModifiedDate());
+        assertThat(a.getCreatedDate()).isEqualTo(a.getLastModifiedDate());
+    }
+}
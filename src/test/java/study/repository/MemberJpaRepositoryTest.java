@@ -6,6 +6,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import study.entity.Member;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,6 +64,18 @@ class MemberJpaRepositoryTest {
         assertThat(deletedCount).isEqualTo(0);
     }
 
+    @Test
+    void scrollAll() {
+        for (int i = 0; i < 5; i++) {
+            memberJpaRepository.save(new Member("member" + i, i));
+        }
+
+        List<String> usernames = new ArrayList<>();
+        memberJpaRepository.scrollAll(2, member -> usernames.add(member.getUsername()));
+
+        assertThat(usernames).hasSize(5);
+    }
+
     @Test
     void findByUsernameAndAgeGreaterThan() {
         Member member1 = new Member("AAA", 10);
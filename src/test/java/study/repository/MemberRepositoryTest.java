@@ -2,13 +2,18 @@ package study.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import study.dto.MemberDTO;
@@ -18,13 +23,22 @@ import study.repository.projection.MemberProjection;
 import study.repository.projection.NestedClosedProjection;
 import study.repository.projection.UsernameOnly;
 import study.repository.projection.UsernameOnlyDTO;
+import study.repository.scroll.KeysetCursor;
 import study.repository.specification.MemberSpec;
+import study.repository.specification.SpecificationCacheStats;
+import study.repository.specification.SpecificationCompiler;
+import study.repository.statement.SqlBudgetExceededException;
+import study.repository.statement.SqlStatementCounter;
+import study.repository.statement.SqlStatementScope;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional
@@ -35,6 +49,12 @@ public class MemberRepositoryTest {
     @Autowired
     TeamRepository teamRepository;
 
+    @Autowired
+    SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    SpecificationCompiler specificationCompiler;
+
     @PersistenceContext
     EntityManager entityManager;
 
@@ -264,6 +284,43 @@ public class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue(); // 다음 페이지가 있는가?
     }
 
+    @Test
+    void keysetScroll() {
+        // given
+        memberRepository.save(new Member("member3", 10));
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 10));
+        memberRepository.save(new Member("member1", 20));
+        memberRepository.save(new Member("member5", 10));
+
+        // when
+        Window<Member> first = memberRepository
+                .findScrollByOrderByUsernameAscIdAsc(ScrollPosition.keyset(), Limit.of(3));
+
+        // 커서 문자열로 왕복시켜도 같은 위치에서 이어서 조회되어야 한다.
+        Sort sort = Sort.by("username", "id");
+        String cursor = KeysetCursor.encode(first.positionAt(first.size() - 1), sort);
+        Window<Member> second = memberRepository
+                .findScrollByOrderByUsernameAscIdAsc(KeysetCursor.decode(cursor, sort), Limit.of(3));
+
+        // then
+        assertThat(first.getContent()).extracting(Member::getUsername)
+                .containsExactly("member1", "member1", "member2");
+        assertThat(first.hasNext()).isTrue();
+
+        assertThat(second.getContent()).extracting(Member::getUsername)
+                .containsExactly("member3", "member5");
+        assertThat(second.hasNext()).isFalse();
+
+        // 다른 정렬로 만든 커서나 변조된 커서는 거부한다.
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, Sort.by("id")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, Sort.by(Sort.Direction.DESC, "username", "id")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor.substring(1), sort))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void countQuery() {
         // given
@@ -334,6 +391,22 @@ public class MemberRepositoryTest {
         assertThat(member5.getAge()).isEqualTo(41);
     }
 
+    @Test
+    void saveAllBatched() {
+        // given
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+
+        // when
+        long saved = memberRepository.saveAllBatched(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> new Member("member" + i, i % 50, team)));
+
+        // then
+        assertThat(saved).isEqualTo(2500);
+        assertThat(memberRepository.count()).isEqualTo(2500);
+        assertThat(entityManager.contains(team)).isFalse(); // 배치마다 영속성 컨텍스트가 초기화된다.
+    }
+
     @Test
     void findMemberLazy() {
         // given
@@ -386,6 +459,73 @@ public class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void detectNPlusOne() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("member" + i, 10));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementScope scope = sqlStatementCounter.open()) {
+            // when
+            for (int i = 0; i < 5; i++) {
+                memberRepository.findOptionalByUsername("member" + i);
+            }
+
+            // then
+            assertThat(scope.getStatementCount()).isEqualTo(5);
+            assertThatThrownBy(() -> scope.assertNoNPlusOne(5))
+                    .isInstanceOf(SqlBudgetExceededException.class);
+        }
+    }
+
+    @Test
+    void batchFetch() {
+        // given
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Team team = teamRepository.save(new Team("team" + i));
+            memberRepository.save(new Member("member" + i, 10, team));
+            teams.add(team);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementScope scope = sqlStatementCounter.open()) {
+            // when
+            memberRepository.findSliceBy(PageRequest.of(0, 10))
+                    .forEach(member -> member.getTeam().getName());
+
+            // then
+            // 회원 조회 1번 + 팀 5개를 IN 절로 한 번에 조회
+            assertThat(scope.getStatementCount()).isEqualTo(2);
+            scope.assertNoNPlusOne(2);
+        }
+
+        entityManager.clear();
+
+        try (SqlStatementScope scope = sqlStatementCounter.open()) {
+            teamRepository.findAllById(teams.stream().map(Team::getId).toList())
+                    .forEach(team -> team.getMembers().size());
+
+            // 팀 조회 1번 + 팀 5개의 members 를 IN 절로 한 번에 조회
+            assertThat(scope.getStatementCount()).isEqualTo(2);
+        }
+
+        entityManager.clear();
+
+        try (SqlStatementScope scope = sqlStatementCounter.open()) {
+            memberRepository.findMemberFetchJoin()
+                    .forEach(member -> member.getTeam().getName());
+
+            scope.assertStatementCountAtMost(1);
+        }
+    }
+
     @Test
     void findEntityGraphByUsername() {
         // given
@@ -440,6 +580,28 @@ public class MemberRepositoryTest {
         List<Member> result = memberRepository.findMemberCustom();
     }
 
+    @Test
+    void streamAll() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("member" + i, i, teamA));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<String> teamNames = new ArrayList<>();
+        memberRepository.forEachMember(2, member -> teamNames.add(member.getTeam().getName()));
+
+        // then
+        assertThat(teamNames).hasSize(5).containsOnly("teamA");
+        assertThat(entityManager.contains(teamA)).isFalse();
+    }
+
     @Test
     void specBasic() {
         // given
@@ -462,6 +624,65 @@ public class MemberRepositoryTest {
         assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    void specCompiled() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        Member m1 = new Member("m1", 0, teamA);
+        Member m2 = new Member("m2", 0, teamA);
+        Member m3 = new Member("m3", 0);
+        entityManager.persist(m1);
+        entityManager.persist(m2);
+        entityManager.persist(m3);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        SpecificationCacheStats before = specificationCompiler.stats();
+
+        // when
+        List<Member> first = memberRepository.findAllCompiled(MemberSpec.username("m1").and(MemberSpec.teamName("teamA")));
+        List<Member> second = memberRepository.findAllCompiled(MemberSpec.username("m2").and(MemberSpec.teamName("teamA")));
+        List<Member> noTeam = memberRepository.findAllCompiled(MemberSpec.username("m3").and(MemberSpec.teamName("")));
+        List<Member> either = memberRepository.findAllCompiled(MemberSpec.username("m1").or(MemberSpec.username("m3")));
+
+        // then
+        assertThat(first).extracting(Member::getUsername).containsExactly("m1");
+        assertThat(second).extracting(Member::getUsername).containsExactly("m2");
+        assertThat(noTeam).extracting(Member::getUsername).containsExactly("m3");
+        assertThat(either).extracting(Member::getUsername).containsExactlyInAnyOrder("m1", "m3");
+        assertThat(memberRepository.findAll(MemberSpec.username("m3").and(MemberSpec.teamName(""))))
+                .extracting(Member::getUsername).containsExactly("m3");
+
+        SpecificationCacheStats after = specificationCompiler.stats();
+        assertThat(after.hits() - before.hits()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void compiledSpecificationWithNull() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member(null, 0, teamA));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<Member> criteria = memberRepository.findAll(MemberSpec.username(null).and(MemberSpec.teamName("teamA")));
+        List<Member> compiled = memberRepository.findAllCompiled(MemberSpec.username(null).and(MemberSpec.teamName("teamA")));
+
+        // then: 두 경로 모두 username 이 없는 회원만 찾는다.
+        assertThat(criteria).hasSize(1);
+        assertThat(compiled).extracting(Member::getId)
+                .containsExactlyElementsOf(criteria.stream().map(Member::getId).toList());
+        assertThat(compiled.get(0).getUsername()).isNull();
+    }
+
     @Test
     void projections() {
         // given
@@ -502,6 +723,112 @@ public class MemberRepositoryTest {
         assertThat(resultNestedClosedProjection.size()).isEqualTo(1);
     }
 
+    @Test
+    void compiledProjections() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m2", 0, teamA));
+        entityManager.persist(new Member("m3", 0));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<NestedClosedProjection> nested = memberRepository.findProjectedByUsername("m1", NestedClosedProjection.class);
+        List<NestedClosedProjection> withoutTeam = memberRepository.findProjectedByUsername("m3", NestedClosedProjection.class);
+        List<UsernameOnlyDTO> usernames = memberRepository.findProjectedByUsername("m1", UsernameOnlyDTO.class);
+        List<MemberDTO> dtos = memberRepository.findProjectedByUsername("m1", MemberDTO.class);
+
+        // then
+        assertThat(nested.get(0).getUsername()).isEqualTo("m1");
+        assertThat(nested.get(0).getTeam().getName()).isEqualTo("teamA");
+        assertThat(withoutTeam.get(0).getTeam()).isNull();
+        assertThat(usernames.get(0).getUsername()).isEqualTo("m1");
+        assertThat(dtos.get(0).getTeamName()).isEqualTo("teamA");
+
+        // Open Projection 은 엔티티 로딩이 필요하므로 거부한다. (IllegalArgumentException 은 스프링 예외로 변환된다.)
+        assertThatThrownBy(() -> memberRepository.findProjectedByUsername("m1", UsernameOnly.class))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    /**
+     * default 메서드가 있는 Closed Projection
+     */
+    public interface UsernameWithTeam {
+        String getUsername();
+
+        NestedClosedProjection.TeamInfo getTeam();
+
+        default String getLabel() {
+            return getUsername() + "@" + (getTeam() == null ? "-" : getTeam().getName());
+        }
+    }
+
+    @Test
+    void compiledProjectionProxyMethods() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m1", 10, teamA));
+        entityManager.persist(new Member("m2", 0));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<UsernameWithTeam> m1 = memberRepository.findProjectedByUsername("m1", UsernameWithTeam.class);
+        List<UsernameWithTeam> m2 = memberRepository.findProjectedByUsername("m2", UsernameWithTeam.class);
+
+        // then
+        assertThat(m1.get(0).getLabel()).isEqualTo("m1@teamA");
+        assertThat(m2.get(0).getLabel()).isEqualTo("m2@-");
+
+        // 읽은 컬럼 값이 같으면 같은 프로젝션이다.
+        assertThat(m1.get(0)).isEqualTo(m1.get(1)).hasSameHashCodeAs(m1.get(1)).isNotEqualTo(m2.get(0));
+        assertThat(m1.get(0).getTeam()).isEqualTo(m1.get(1).getTeam());
+        assertThat(m1.get(0).toString()).contains("username=m1");
+    }
+
+    @Test
+    void compiledProjectionSlice() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m2", 0, teamA));
+        entityManager.persist(new Member("m3", 0));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Slice<MemberDTO> first = memberRepository.findProjectedSliceBy(PageRequest.of(0, 2, Sort.by("username")), MemberDTO.class);
+        Slice<MemberDTO> last = memberRepository.findProjectedSliceBy(PageRequest.of(1, 2, Sort.by("username")), MemberDTO.class);
+
+        // then
+        assertThat(first.getContent()).extracting(MemberDTO::getUsername).containsExactly("m1", "m2");
+        assertThat(first.getContent()).extracting(MemberDTO::getTeamName).containsOnly("teamA");
+        assertThat(first.hasNext()).isTrue();
+
+        // 팀이 없는 회원도 left join 으로 조회된다.
+        assertThat(last.getContent()).extracting(MemberDTO::getUsername).containsExactly("m3");
+        assertThat(last.getContent().get(0).getTeamName()).isNull();
+        assertThat(last.hasNext()).isFalse();
+
+        // 엔티티를 로딩하지 않는다.
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        // 엔티티에서 변환하는 경우에도 팀 이름을 채운다.
+        Member m1 = memberRepository.findByUsername("m1").get(0);
+        assertThat(new MemberDTO(m1).getTeamName()).isEqualTo("teamA");
+    }
+
     @Test
     void nativeQuery() {
         // given
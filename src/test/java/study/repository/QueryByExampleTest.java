@@ -66,4 +66,127 @@ public class QueryByExampleTest {
         assertThat(result.get(0).getUsername()).isEqualTo("m1");
         assertThat(result.size()).isEqualTo(1);
     }
+
+    @Test
+    void compiled() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m2", 0, teamA));
+        entityManager.persist(new Member("M10", 0));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Member member = new Member("m1");
+        member.setTeam(new Team("teamA"));
+        Example<Member> example = Example.of(member, ExampleMatcher.matching().withIgnorePaths("age"));
+
+        Example<Member> startsWith = Example.of(new Member("m1"), ExampleMatcher.matching()
+                .withIgnorePaths("age")
+                .withStringMatcher(ExampleMatcher.StringMatcher.STARTING)
+                .withIgnoreCase());
+
+        // when
+        List<Member> result = memberRepository.findAllCompiled(example);
+        List<Member> startsWithResult = memberRepository.findAllCompiled(startsWith);
+
+        // then
+        assertThat(result).extracting(Member::getUsername).containsExactly("m1");
+        assertThat(startsWithResult).extracting(Member::getUsername)
+                .containsExactlyInAnyOrderElementsOf(memberRepository.findAll(startsWith).stream()
+                        .map(Member::getUsername).toList())
+                .containsExactlyInAnyOrder("m1", "M10");
+    }
+
+    @Test
+    void compiledBatch() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        entityManager.persist(teamA);
+        entityManager.persist(teamB);
+
+        entityManager.persist(new Member("m1", 10, teamA));
+        entityManager.persist(new Member("m2", 20, teamA));
+        entityManager.persist(new Member("m3", 10, teamB));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        ExampleMatcher matcher = ExampleMatcher.matching().withIgnorePaths("username");
+
+        // when
+        List<List<Member>> result = memberRepository.findAllCompiled(List.of(
+                Example.of(new Member(null, 10, new Team("teamA")), matcher),
+                Example.of(new Member(null, 10, new Team("teamB")), matcher),
+                Example.of(new Member(null, 30, new Team("teamA")), matcher),
+                Example.of(new Member("m2", 20), ExampleMatcher.matching())));
+
+        // then
+        assertThat(result.get(0)).extracting(Member::getUsername).containsExactly("m1");
+        assertThat(result.get(1)).extracting(Member::getUsername).containsExactly("m3");
+        assertThat(result.get(2)).isEmpty();
+        assertThat(result.get(3)).extracting(Member::getUsername).containsExactly("m2");
+    }
+
+    @Test
+    void compiledJoinWithoutTerms() {
+        // given
+        Team teamA = new Team("teamA");
+        entityManager.persist(teamA);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m1", 0));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        ExampleMatcher matcher = ExampleMatcher.matching().withIgnorePaths("age");
+        Example<Member> withoutTeam = Example.of(new Member("m1"), matcher);
+
+        // 속성이 모두 null 인 팀: 조건은 없지만 내부 조인으로 팀이 있는 회원만 조회된다.
+        Member member = new Member("m1");
+        member.setTeam(new Team(null));
+        Example<Member> anyTeam = Example.of(member, matcher);
+
+        // when
+        List<Member> withoutTeamResult = memberRepository.findAllCompiled(withoutTeam);
+        List<Member> anyTeamResult = memberRepository.findAllCompiled(anyTeam);
+        List<Member> withoutTeamAgain = memberRepository.findAllCompiled(withoutTeam);
+
+        // then
+        assertThat(withoutTeamResult).hasSize(memberRepository.findAll(withoutTeam).size()).hasSize(2);
+        assertThat(anyTeamResult).hasSize(memberRepository.findAll(anyTeam).size()).hasSize(1);
+        assertThat(withoutTeamAgain).hasSize(2);
+    }
+
+    @Test
+    void compiledWithProxyProbe() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        entityManager.persist(teamA);
+        entityManager.persist(teamB);
+
+        entityManager.persist(new Member("m1", 0, teamA));
+        entityManager.persist(new Member("m1", 0, teamB));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // 초기화되지 않은 프록시는 필드가 모두 null 이므로 getter 로 읽어야 teamA 조건이 만들어진다.
+        Member member = new Member("m1");
+        member.setTeam(entityManager.getReference(Team.class, teamA.getId()));
+        Example<Member> example = Example.of(member, ExampleMatcher.matching().withIgnorePaths("age"));
+
+        // when
+        List<Member> result = memberRepository.findAllCompiled(example);
+
+        // then
+        assertThat(result).hasSize(memberRepository.findAll(example).size()).hasSize(1);
+        assertThat(result.get(0).getTeam().getId()).isEqualTo(teamA.getId());
+    }
 }
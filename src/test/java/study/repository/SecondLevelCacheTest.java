@@ -0,0 +1,107 @@
+package study.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.entity.Member;
+import study.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시는 트랜잭션 커밋 이후에 반영되므로 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void teamFromCache() {
+        // given
+        Team team = teamRepository.save(new Team("teamA"));
+
+        // when
+        teamJpaRepository.findById(team.getId()); // 첫 조회는 DB
+        long hitCount = statistics.getCacheRegionStatistics("team").getHitCount();
+        teamJpaRepository.findById(team.getId());
+
+        // then
+        assertThat(statistics.getCacheRegionStatistics("team").getHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    void queryCache() {
+        // given
+        memberRepository.save(new Member("member1", 10));
+
+        // when
+        memberRepository.findByUsername("member1");
+        long hitCount = statistics.getQueryCacheHitCount();
+        memberRepository.findByUsername("member1");
+
+        // then
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    void bulkUpdateEvictsCache() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 20));
+        memberRepository.findById(member.getId());
+        memberRepository.findByUsername("member1");
+
+        // when
+        memberRepository.bulkAgePlus(20);
+
+        // then
+        // JPQL 벌크 연산은 member 리전과 member 테이블을 사용하는 쿼리 캐시를 함께 무효화한다.
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(21);
+        assertThat(memberRepository.findByUsername("member1").get(0).getAge()).isEqualTo(21);
+    }
+
+    @Test
+    void streamAllBypassesCache() {
+        // given
+        Team team = teamRepository.save(new Team("teamA"));
+        Member member = memberRepository.save(new Member("member1", 10, team));
+        entityManagerFactory.getCache().evictAll();
+
+        // when
+        memberRepository.forEachMember(100, m -> {
+        });
+
+        // then
+        // 전체 내보내기가 자주 쓰는 캐시 항목을 밀어내지 않도록 읽은 행을 캐시에 넣지 않는다.
+        assertThat(entityManagerFactory.getCache().contains(Member.class, member.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Team.class, team.getId())).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package study.repository.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 호출은 다른 스레드의 트랜잭션에서 실행되므로 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest(properties = "study.async.max-concurrency=2")
+class AsyncMemberRepositoryTest {
+    @Autowired
+    AsyncMemberRepository asyncMemberRepository;
+
+    @Autowired
+    AsyncQueryExecutor asyncQueryExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findById() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when
+        Member findMember = asyncMemberRepository.findById(member.getId()).join().get();
+
+        // then
+        assertThat(findMember.getUsername()).isEqualTo("member1");
+    }
+
+    @Test
+    void boundedByMaxConcurrency() {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // when
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 20)
+                .mapToObj(i -> asyncQueryExecutor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(futures).extracting(CompletableFuture::join).hasSize(20);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+}
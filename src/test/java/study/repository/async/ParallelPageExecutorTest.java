@@ -0,0 +1,162 @@
+package study.repository.async;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * content 와 count 는 각각 별도 트랜잭션에서 조회되므로 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ParallelPageExecutorTest {
+    @Autowired
+    ParallelPageExecutor parallelPageExecutor;
+
+    @Autowired
+    AsyncMemberRepository asyncMemberRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ObjectProvider<OpenEntityManagerInViewInterceptor> openInView;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    int maximumPoolSize;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void execute() {
+        // given
+        memberRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> new Member("member" + i, 10))
+                .toList());
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<Member> page = parallelPageExecutor.execute(pageRequest,
+                p -> memberRepository.findContentByAge(10, p),
+                () -> memberRepository.countByAge(10));
+
+        // then
+        assertThat(page.getContent()).extracting(Member::getUsername)
+                .containsExactly("member4", "member3", "member2");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void executeAsync() {
+        // given
+        memberRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> new Member("member" + i, 10))
+                .toList());
+
+        // when
+        Page<Member> page = asyncMemberRepository.findPageByAge(10, PageRequest.of(1, 3)).join();
+
+        // then
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void sequentialInsideTransaction() {
+        // given
+        Thread caller = Thread.currentThread();
+        Thread[] countThread = new Thread[1];
+
+        // when
+        Page<Member> page = transactionTemplate.execute(status -> {
+            // 커밋 전 변경 내용도 count 에 포함되어야 한다.
+            memberRepository.save(new Member("member1", 10));
+
+            return parallelPageExecutor.execute(PageRequest.of(0, 3),
+                    p -> memberRepository.findContentByAge(10, p),
+                    () -> {
+                        countThread[0] = Thread.currentThread();
+                        return memberRepository.countByAge(10);
+                    });
+        });
+
+        // then
+        assertThat(countThread[0]).isSameAs(caller);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequestsWithOpenInView() throws Exception {
+        // given
+        assertThat(openInView.getIfAvailable()).isNotNull();
+        memberRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> new Member("member" + i, 10))
+                .toList());
+        int requests = maximumPoolSize * 3;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        // 요청 스레드가 커넥션을 잡은 채 count 커넥션을 기다리면 connection-timeout 으로 실패한다.
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    return mockMvc.perform(get("/members/age/{age}", 10).param("size", "3"))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsString();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+        start.countDown();
+        List<String> bodies = futures.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        // then
+        for (String body : bodies) {
+            assertThat(objectMapper.readTree(body).get("totalElements").asLong()).isEqualTo(5);
+            assertThat(objectMapper.readTree(body).get("content")).hasSize(3);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package study.repository.bulk;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 구간마다 별도 트랜잭션으로 커밋되므로 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest
+class ChunkedBulkUpdaterTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ChunkedBulkUpdater chunkedBulkUpdater;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void bulkAgePlusChunked() {
+        // given
+        List<Member> members = memberRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new Member("member" + i, 15 + i))
+                .toList());
+
+        // when
+        BulkUpdateResult result = memberRepository.bulkAgePlusChunked(20, 3, 2);
+
+        // then
+        assertThat(result.updatedRows()).isEqualTo(5);
+        assertThat(memberRepository.findAll()).extracting(Member::getAge)
+                .containsExactlyInAnyOrder(15, 16, 17, 18, 19, 21, 22, 23, 24, 25);
+    }
+
+    @Test
+    void evictsOnlyUpdatedEntities() {
+        // given
+        Member young = memberRepository.save(new Member("young", 10));
+        Member old = memberRepository.save(new Member("old", 30));
+
+        memberRepository.findById(young.getId());
+        memberRepository.findById(old.getId());
+        memberRepository.findByUsername("old");
+
+        // when
+        memberRepository.bulkAgePlusChunked(20, 100, 1);
+
+        // then
+        assertThat(entityManagerFactory.getCache().contains(Member.class, young.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Member.class, old.getId())).isFalse();
+
+        assertThat(memberRepository.findById(old.getId()).get().getAge()).isEqualTo(31);
+        assertThat(memberRepository.findByUsername("old").get(0).getAge()).isEqualTo(31);
+    }
+
+    @Test
+    void evictsCommittedChunksWhenLaterChunkFails() {
+        // given
+        List<Member> members = memberRepository.saveAll(IntStream.range(0, 4)
+                .mapToObj(i -> new Member("member" + i, 21 + i))
+                .toList());
+        members.forEach(member -> memberRepository.findById(member.getId()));
+
+        // when: age 24 인 마지막 구간은 0 으로 나누어 실패한다.
+        ChunkedUpdate update = new ChunkedUpdate(Member.class, "age = age + 100 / (age - 24)", "age >= :age",
+                Map.of("age", 20), 1, 1);
+        assertThatThrownBy(() -> chunkedBulkUpdater.execute(update)).isInstanceOf(RuntimeException.class);
+
+        // then: 이미 커밋된 구간은 캐시에서 제거되어 변경된 값이 조회된다.
+        for (Member member : members.subList(0, 3)) {
+            assertThat(entityManagerFactory.getCache().contains(Member.class, member.getId())).isFalse();
+            assertThat(memberRepository.findById(member.getId()).get().getAge())
+                    .isEqualTo(member.getAge() + 100 / (member.getAge() - 24));
+        }
+        assertThat(memberRepository.findById(members.get(3).getId()).get().getAge()).isEqualTo(24);
+    }
+}
@@ -0,0 +1,130 @@
+package study.repository.count;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PageCountExecutorTest {
+    @Autowired
+    PageCountExecutor pageCountExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    void exact() {
+        // given
+        saveMembers(5);
+
+        // when
+        Page<Member> page = pageCountExecutor.execute(ageCount(new AtomicInteger()), CountStrategy.EXACT,
+                PageRequest.of(0, 3), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+        // then
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void lastPageSkipsCount() {
+        // given
+        saveMembers(5);
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        Page<Member> page = pageCountExecutor.execute(ageCount(counts), CountStrategy.EXACT,
+                PageRequest.of(1, 3), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(counts.get()).isEqualTo(0);
+    }
+
+    @Test
+    void cached() {
+        // given
+        saveMembers(5);
+        AtomicInteger counts = new AtomicInteger();
+        pageCountExecutor.evict("members.age");
+
+        // when
+        pageCountExecutor.execute(ageCount(counts), CountStrategy.CACHED,
+                PageRequest.of(0, 2), pageable -> memberRepository.findSliceByAge(10, pageable));
+        Page<Member> page = pageCountExecutor.execute(ageCount(counts), CountStrategy.CACHED,
+                PageRequest.of(1, 2), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(counts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void none() {
+        // given
+        saveMembers(5);
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        Page<Member> page = pageCountExecutor.execute(ageCount(counts), CountStrategy.NONE,
+                PageRequest.of(0, 3), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+        // then
+        assertThat(counts.get()).isEqualTo(0);
+        assertThat(page.hasNext()).isTrue(); // 전체 개수는 모르지만 다음 페이지 존재 여부는 알 수 있다.
+    }
+
+    /**
+     * 대량 저장이 커밋되어야 count 를 버리므로 트랜잭션 없이 실행한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bulkWriteEvictsCachedCount() {
+        try {
+            // given
+            memberRepository.saveAllBatched(IntStream.range(0, 5).mapToObj(i -> new Member("member" + i, 10)));
+            AtomicInteger counts = new AtomicInteger();
+
+            pageCountExecutor.execute(ageCount(counts), CountStrategy.CACHED,
+                    PageRequest.of(0, 2), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+            // when
+            memberRepository.saveAllBatched(IntStream.range(5, 10).mapToObj(i -> new Member("member" + i, 10)));
+            Page<Member> page = pageCountExecutor.execute(ageCount(counts), CountStrategy.CACHED,
+                    PageRequest.of(0, 2), pageable -> memberRepository.findSliceByAge(10, pageable));
+
+            // then
+            assertThat(counts.get()).isEqualTo(2);
+            assertThat(page.getTotalElements()).isEqualTo(10);
+        } finally {
+            memberRepository.deleteAllInBatch();
+            pageCountExecutor.evict("members");
+        }
+    }
+
+    private void saveMembers(int count) {
+        for (int i = 1; i <= count; i++) {
+            memberRepository.save(new Member("member" + i, 10));
+        }
+    }
+
+    private CountQuery ageCount(AtomicInteger counts) {
+        return CountQuery.filtered("members.age", () -> {
+            counts.incrementAndGet();
+            return memberRepository.countByAge(10);
+        }, 10);
+    }
+}
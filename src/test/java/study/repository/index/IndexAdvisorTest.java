@@ -0,0 +1,53 @@
+package study.repository.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class IndexAdvisorTest {
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Test
+    void allQueriesCovered() {
+        // when
+        List<IndexAdvice> advices = indexAdvisor.advise();
+
+        // then
+        assertThat(advices).extracting(IndexAdvice::source)
+                .contains("MemberRepository.findByUsernameAndAgeGreaterThan", "@NamedQuery Member.findByUsername",
+                        "Team.members");
+        assertThat(advices).allMatch(IndexAdvice::isCovered);
+    }
+
+    @Test
+    void explainUsesIndex() {
+        // given
+        IndexAdvice usernameAndAge = advice("MemberRepository.findByUsernameAndAgeGreaterThan");
+        IndexAdvice pageByAge = advice("MemberRepository.findPageByAge");
+        IndexAdvice teamMembers = advice("Team.members");
+
+        // then
+        assertThat(usernameAndAge.columns()).containsExactly("username", "age");
+        assertThat(usernameAndAge.index()).isEqualTo("IDX_MEMBER_USERNAME_AGE");
+        assertThat(pageByAge.index()).isEqualTo("IDX_MEMBER_AGE_USERNAME");
+        assertThat(teamMembers.columns()).containsExactly("team_id");
+
+        assertThat(indexAdvisor.usesIndex(usernameAndAge)).isTrue();
+        assertThat(indexAdvisor.usesIndex(pageByAge)).isTrue();
+    }
+
+    private IndexAdvice advice(String source) {
+        return indexAdvisor.advise().stream()
+                .filter(advice -> advice.source().equals(source))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,114 @@
+package study.repository.retry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재시도는 트랜잭션 밖에서 호출해야 동작하므로 테스트 메서드에 트랜잭션을 걸지 않는다.
+ */
+@SpringBootTest
+class RetryOnConflictTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    RetryOnConflictInterceptor retryOnConflictInterceptor;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void versionIncrementsOnUpdate() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+        assertThat(member.getVersion()).isEqualTo(0L);
+
+        // when
+        Member updated = memberRepository.addAge(member.getId(), 1);
+
+        // then
+        assertThat(updated.getAge()).isEqualTo(11);
+        assertThat(memberRepository.findById(member.getId()).get().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void staleUpdateIsRejected() {
+        // given
+        Member stale = memberRepository.save(new Member("member1", 10));
+        memberRepository.addAge(stale.getId(), 1);
+
+        // when
+        stale.setAge(20);
+
+        // then
+        assertThatThrownBy(() -> memberRepository.save(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(memberRepository.findById(stale.getId()).get().getAge()).isEqualTo(11);
+    }
+
+    @Test
+    void concurrentUpdatesAreRetried() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 0));
+        RetryStats before = retryOnConflictInterceptor.stats();
+        int writers = 4;
+        int updates = 25;
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < updates; j++) {
+                    memberRepository.addAge(member.getId(), 1);
+                }
+            }, executor));
+        }
+        futures.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        // then
+        Member result = memberRepository.findById(member.getId()).get();
+        RetryStats after = retryOnConflictInterceptor.stats();
+        assertThat(result.getAge()).isEqualTo(writers * updates);
+        assertThat(result.getVersion()).isEqualTo((long) writers * updates);
+        assertThat(after.invocations() - before.invocations()).isEqualTo(writers * updates);
+        assertThat(after.retries() - before.retries()).isEqualTo(after.conflicts() - before.conflicts());
+        assertThat(after.exhausted()).isEqualTo(before.exhausted());
+    }
+
+    @Test
+    void doesNotRetryInsideOuterTransaction() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 0));
+        RetryStats before = retryOnConflictInterceptor.stats();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> memberRepository.addAge(member.getId(), 1));
+
+        // then
+        assertThat(retryOnConflictInterceptor.stats().invocations()).isEqualTo(before.invocations() + 1);
+        assertThat(retryOnConflictInterceptor.stats().retries()).isEqualTo(before.retries());
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package study.repository.statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import study.entity.Member;
+import study.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc 는 요청을 테스트 스레드에서 처리하므로, 요청이 끝난 뒤 테스트 스레드에 열린 구간이 없어야 한다.
+ * 비동기 작업이 다른 스레드에서 커밋된 데이터를 읽으므로 트랜잭션 없이 실행한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlBudgetInterceptorTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    SqlStatementCounter sqlStatementCounter;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void closesScopeOfAsyncRequest() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/members/{id}/async", member.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        assertThat(sqlStatementCounter.openScopes()).isZero();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("member1"));
+        assertThat(sqlStatementCounter.openScopes()).isZero();
+    }
+
+    @Test
+    void closesScopeOfStreamingRequest() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/members/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(sqlStatementCounter.openScopes()).isZero();
+    }
+
+    @Test
+    void closesScopeOfSyncRequest() throws Exception {
+        // given
+        Member member = memberRepository.save(new Member("member1", 10));
+
+        // when
+        mockMvc.perform(get("/members/{id}", member.getId()))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(sqlStatementCounter.openScopes()).isZero();
+    }
+}